@@ -0,0 +1,70 @@
+package benchmarks;
+
+import abstractions.Mediator;
+import benchmarks.Fixtures.PassThroughBehavior;
+import benchmarks.Fixtures.Ping;
+import benchmarks.Fixtures.PingBehavior;
+import benchmarks.Fixtures.PingHandler;
+import benchmarks.Fixtures.Tick;
+import benchmarks.Fixtures.TickHandler;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class ContendedDispatchBenchmark {
+    private Mediator mediator;
+    private Ping ping;
+    private Tick tick;
+
+    @Setup
+    public void setUp() {
+        this.mediator = Mediators.create();
+        this.mediator.registerHandler(Ping.class, new PingHandler());
+        this.mediator.registerRequestPipelineBehavior(new PassThroughBehavior<>());
+        this.mediator.registerRequestPipelineBehavior(new PingBehavior());
+
+        for (int i = 0; i < 10; i++) {
+            this.mediator.registerEventHandler(Tick.class, new TickHandler());
+        }
+
+        this.ping = new Ping(42);
+        this.tick = new Tick(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.mediator.close();
+    }
+
+    @Benchmark
+    public Integer send() {
+        return this.mediator.send(this.ping);
+    }
+
+    @Benchmark
+    public void publish() {
+        this.mediator.publish(this.tick);
+    }
+
+    @Benchmark
+    public Void publishAsync() {
+        return this.mediator.publishAsync(this.tick).join();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package benchmarks;
+
+import abstractions.behaviors.RequestPipelineBehavior;
+import abstractions.commands.ResultCommand;
+import abstractions.commands.ResultCommandHandler;
+import abstractions.events.Event;
+import abstractions.events.EventHandler;
+import abstractions.requests.Request;
+import abstractions.requests.RequestHandler;
+
+final class Fixtures {
+    private Fixtures() {}
+
+    record Ping(int value) implements ResultCommand<Integer> {}
+
+    record Tick(long sequence) implements Event {}
+
+    static final class PingHandler implements ResultCommandHandler<Ping, Integer> {
+        @Override
+        public Integer handle(Ping request) {
+            return request.value();
+        }
+    }
+
+    static final class PingBehavior implements RequestPipelineBehavior<Ping, Integer> {
+        @Override
+        public Integer handle(Ping request, RequestHandler<Ping, Integer> next) {
+            return next.handle(request);
+        }
+    }
+
+    static final class PassThroughBehavior<TRequest extends Request<TResponse>, TResponse>
+            implements RequestPipelineBehavior<TRequest, TResponse> {
+        @Override
+        public TResponse handle(TRequest request, RequestHandler<TRequest, TResponse> next) {
+            return next.handle(request);
+        }
+    }
+
+    static final class TickHandler implements EventHandler<Tick> {
+        private long last;
+
+        @Override
+        public void handle(Tick event) {
+            this.last = event.sequence();
+        }
+    }
+}
\ No newline at end of file
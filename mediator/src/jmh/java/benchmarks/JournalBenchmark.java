@@ -0,0 +1,75 @@
+package benchmarks;
+
+import abstractions.Mediator;
+import abstractions.events.Event;
+import abstractions.events.EventSerializer;
+import benchmarks.Fixtures.Tick;
+import benchmarks.Fixtures.TickHandler;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+    private Path directory;
+    private Mediator mediator;
+    private Tick tick;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("mediator-journal");
+        this.mediator = Mediators.createJournaled(this.directory, new TickSerializer());
+        this.mediator.registerEventHandler(Tick.class, new TickHandler());
+        this.tick = new Tick(1);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.mediator.close();
+
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Void publishAsync() {
+        return this.mediator.publishAsync(this.tick).join();
+    }
+
+    static final class TickSerializer implements EventSerializer {
+        @Override
+        public byte[] serialize(Event event) {
+            return ByteBuffer.allocate(Long.BYTES).putLong(((Tick)event).sequence()).array();
+        }
+
+        @Override
+        public Event deserialize(byte[] payload) {
+            return new Tick(ByteBuffer.wrap(payload).getLong());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package benchmarks;
+
+import abstractions.Mediator;
+import abstractions.WaitStrategy;
+import abstractions.events.EventSerializer;
+import java.nio.file.Path;
+
+final class Mediators {
+    private Mediators() {}
+
+    // MediatorBuilder lives in the unnamed package, which JMH benchmarks cannot import.
+    static Mediator create() {
+        try {
+            Object builder = Class.forName("MediatorBuilder").getConstructor().newInstance();
+            return (Mediator)builder.getClass().getMethod("build").invoke(builder);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Unable to create mediator", ex);
+        }
+    }
+
+    static Mediator createJournaled(Path directory, EventSerializer serializer) {
+        try {
+            Object builder = Class.forName("MediatorBuilder").getConstructor().newInstance();
+            builder.getClass().getMethod("useEventJournal", Path.class, EventSerializer.class)
+                    .invoke(builder, directory, serializer);
+            return (Mediator)builder.getClass().getMethod("build").invoke(builder);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Unable to create mediator", ex);
+        }
+    }
+
+    static Mediator createWithRingBuffer(int capacity, int consumers, WaitStrategy waitStrategy) {
+        try {
+            Object builder = Class.forName("MediatorBuilder").getConstructor().newInstance();
+            builder.getClass().getMethod("useRingBuffer", int.class, int.class, WaitStrategy.class)
+                    .invoke(builder, capacity, consumers, waitStrategy);
+            return (Mediator)builder.getClass().getMethod("build").invoke(builder);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Unable to create mediator", ex);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package benchmarks;
+
+import abstractions.Mediator;
+import benchmarks.Fixtures.Tick;
+import benchmarks.Fixtures.TickHandler;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PublishBenchmark {
+    @Param({"1", "10", "100"})
+    private int handlers;
+
+    private Mediator mediator;
+    private Tick tick;
+
+    @Setup
+    public void setUp() {
+        this.mediator = Mediators.create();
+
+        for (int i = 0; i < this.handlers; i++) {
+            this.mediator.registerEventHandler(Tick.class, new TickHandler());
+        }
+
+        this.tick = new Tick(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.mediator.close();
+    }
+
+    @Benchmark
+    public void publish() {
+        this.mediator.publish(this.tick);
+    }
+
+    @Benchmark
+    public Void publishAsync() {
+        return this.mediator.publishAsync(this.tick).join();
+    }
+}
\ No newline at end of file
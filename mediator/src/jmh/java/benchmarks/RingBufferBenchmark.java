@@ -0,0 +1,52 @@
+package benchmarks;
+
+import abstractions.Mediator;
+import abstractions.WaitStrategy;
+import benchmarks.Fixtures.Tick;
+import benchmarks.Fixtures.TickHandler;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(2)
+@State(Scope.Benchmark)
+public class RingBufferBenchmark {
+    @Param({"BUSY_SPIN", "YIELD", "PARK"})
+    private WaitStrategy waitStrategy;
+
+    private Mediator mediator;
+    private Tick tick;
+
+    @Setup
+    public void setUp() {
+        this.mediator = Mediators.createWithRingBuffer(64 * 1024, 2, this.waitStrategy);
+        this.mediator.registerEventHandler(Tick.class, new TickHandler());
+        this.tick = new Tick(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.mediator.close();
+    }
+
+    @Benchmark
+    public void publishFireAndForget() {
+        this.mediator.publishFireAndForget(this.tick);
+    }
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import abstractions.Mediator;
+import benchmarks.Fixtures.PassThroughBehavior;
+import benchmarks.Fixtures.Ping;
+import benchmarks.Fixtures.PingBehavior;
+import benchmarks.Fixtures.PingHandler;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SendBenchmark {
+    @Param({"0", "1", "5", "20"})
+    private int behaviors;
+
+    @Param({"specific", "open"})
+    private String behaviorKind;
+
+    private Mediator mediator;
+    private Ping ping;
+
+    @Setup
+    public void setUp() {
+        this.mediator = Mediators.create();
+        this.mediator.registerHandler(Ping.class, new PingHandler());
+
+        for (int i = 0; i < this.behaviors; i++) {
+            if (this.behaviorKind.equals("specific")) {
+                this.mediator.registerRequestPipelineBehavior(new PingBehavior());
+            } else {
+                this.mediator.registerRequestPipelineBehavior(new PassThroughBehavior<>());
+            }
+        }
+
+        this.ping = new Ping(42);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.mediator.close();
+    }
+
+    @Benchmark
+    public Integer send() {
+        return this.mediator.send(this.ping);
+    }
+
+    @Benchmark
+    public Integer sendAsync() {
+        return this.mediator.sendAsync(this.ping).join();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,215 @@
+import abstractions.BulkheadStats;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+final class AsyncDispatcher implements AutoCloseable {
+    static final Duration DEFAULT_SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ExecutorService ownedExecutor;
+    private final ClassValue<Executor> executors;
+    private final ClassValue<Bulkhead> bulkheads;
+    private final Duration shutdownTimeout;
+    private final AtomicLong inFlight;
+    private final Object drainLock;
+    private final AtomicBoolean closed;
+
+    private AsyncDispatcher(
+            Executor defaultExecutor,
+            ExecutorService ownedExecutor,
+            Map<Class<?>, Executor> typeExecutors,
+            Map<Class<?>, Bulkhead.Limits> bulkheadLimits,
+            Duration shutdownTimeout) {
+        var bulkheads = new LinkedHashMap<Class<?>, Bulkhead>();
+        bulkheadLimits.forEach((type, limits) -> bulkheads.put(type, new Bulkhead(limits)));
+
+        this.ownedExecutor = ownedExecutor;
+        this.shutdownTimeout = shutdownTimeout;
+        this.inFlight = new AtomicLong();
+        this.drainLock = new Object();
+        this.closed = new AtomicBoolean();
+        this.executors = new ClassValue<>() {
+            @Override
+            protected Executor computeValue(Class<?> type) {
+                return resolve(typeExecutors, type, defaultExecutor);
+            }
+        };
+        this.bulkheads = new ClassValue<>() {
+            @Override
+            protected Bulkhead computeValue(Class<?> type) {
+                return resolve(bulkheads, type, Bulkhead.NONE);
+            }
+        };
+    }
+
+    static AsyncDispatcher cachedThreadPool(
+            Map<Class<?>, Executor> typeExecutors,
+            Map<Class<?>, Bulkhead.Limits> bulkheads,
+            Duration shutdownTimeout) {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        return new AsyncDispatcher(executor, executor, typeExecutors, bulkheads, shutdownTimeout);
+    }
+
+    static AsyncDispatcher virtualThreads(
+            Map<Class<?>, Executor> typeExecutors,
+            Map<Class<?>, Bulkhead.Limits> bulkheads,
+            Duration shutdownTimeout) {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        return new AsyncDispatcher(executor, executor, typeExecutors, bulkheads, shutdownTimeout);
+    }
+
+    static AsyncDispatcher external(
+            Executor executor,
+            Map<Class<?>, Executor> typeExecutors,
+            Map<Class<?>, Bulkhead.Limits> bulkheads,
+            Duration shutdownTimeout) {
+        return new AsyncDispatcher(executor, null, typeExecutors, bulkheads, shutdownTimeout);
+    }
+
+    Executor executorFor(Class<?> type) {
+        return this.executors.get(type);
+    }
+
+    BulkheadStats bulkheadStats(Class<?> type) {
+        return this.bulkheads.get(type);
+    }
+
+    <T> CompletableFuture<T> track(
+            Class<?> type,
+            Supplier<? extends CompletionStage<T>> operation,
+            Supplier<? extends CompletionStage<T>> callerRuns) {
+        if (!acquire()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Mediator is closed"));
+        }
+
+        CompletionStage<T> stage;
+
+        try {
+            Bulkhead bulkhead = this.bulkheads.get(type);
+            stage = bulkhead == Bulkhead.NONE ? operation.get() : bulkhead.submit(operation, callerRuns);
+        } catch (Throwable ex) {
+            release();
+            return CompletableFuture.failedFuture(ex);
+        }
+
+        var future = new CompletableFuture<T>();
+        stage.whenComplete((result, error) -> {
+            try {
+                if (error != null) {
+                    future.completeExceptionally(error);
+                } else {
+                    future.complete(result);
+                }
+            } finally {
+                release();
+            }
+        });
+        return future;
+    }
+
+    CompletableFuture<Void> runAsync(Class<?> type, Runnable task) {
+        return track(type, () -> execute(executorFor(type), task), () -> {
+            task.run();
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    @Override
+    public void close() {
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + this.shutdownTimeout.toNanos();
+
+        try {
+            awaitInFlight(deadline);
+
+            if (this.ownedExecutor != null) {
+                this.ownedExecutor.shutdown();
+
+                if (!this.ownedExecutor.awaitTermination(remaining(deadline), TimeUnit.NANOSECONDS)) {
+                    this.ownedExecutor.shutdownNow();
+                }
+            }
+        } catch (InterruptedException ex) {
+            if (this.ownedExecutor != null) {
+                this.ownedExecutor.shutdownNow();
+            }
+
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean acquire() {
+        this.inFlight.incrementAndGet();
+
+        if (this.closed.get()) {
+            release();
+            return false;
+        }
+
+        return true;
+    }
+
+    private void release() {
+        if (this.inFlight.decrementAndGet() == 0 && this.closed.get()) {
+            synchronized (this.drainLock) {
+                this.drainLock.notifyAll();
+            }
+        }
+    }
+
+    private void awaitInFlight(long deadline) throws InterruptedException {
+        synchronized (this.drainLock) {
+            long remaining;
+
+            while (this.inFlight.get() > 0 && (remaining = remaining(deadline)) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(this.drainLock, remaining);
+            }
+        }
+    }
+
+    private static CompletableFuture<Void> execute(Executor executor, Runnable task) {
+        var future = new CompletableFuture<Void>();
+        executor.execute(() -> {
+            try {
+                task.run();
+                future.complete(null);
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+        return future;
+    }
+
+    static <T> T resolve(Map<Class<?>, T> byType, Class<?> type, T fallback) {
+        T exact = byType.get(type);
+
+        if (exact != null) {
+            return exact;
+        }
+
+        for (var entry : byType.entrySet()) {
+            if (entry.getKey().isAssignableFrom(type)) {
+                return entry.getValue();
+            }
+        }
+
+        return fallback;
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+import abstractions.BulkheadStats;
+import abstractions.RejectionPolicy;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+final class Bulkhead implements BulkheadStats {
+    static final Bulkhead NONE = new Bulkhead(new Limits(Integer.MAX_VALUE, 0, RejectionPolicy.FAIL_FAST));
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final RejectionPolicy rejectionPolicy;
+    private final ArrayDeque<Call<?>> queue;
+    private final LongAdder rejected;
+    private final LongAdder callerRuns;
+    private final LongAdder dropped;
+    private int active;
+
+    Bulkhead(Limits limits) {
+        this.maxConcurrent = limits.maxConcurrent;
+        this.maxQueued = limits.maxQueued;
+        this.rejectionPolicy = limits.rejectionPolicy;
+        this.queue = new ArrayDeque<>();
+        this.rejected = new LongAdder();
+        this.callerRuns = new LongAdder();
+        this.dropped = new LongAdder();
+    }
+
+    <T> CompletionStage<T> submit(
+            Supplier<? extends CompletionStage<T>> operation, Supplier<? extends CompletionStage<T>> callerRuns) {
+        var call = new Call<T>(operation);
+        Call<?> evicted = null;
+        boolean admitted = false;
+        boolean queued = true;
+
+        synchronized (this) {
+            if (this.active < this.maxConcurrent) {
+                this.active++;
+                admitted = true;
+            } else if (this.queue.size() < this.maxQueued) {
+                this.queue.addLast(call);
+            } else if (this.rejectionPolicy == RejectionPolicy.DROP_OLDEST && this.maxQueued > 0) {
+                evicted = this.queue.pollFirst();
+                this.queue.addLast(call);
+            } else {
+                queued = false;
+            }
+        }
+
+        if (admitted) {
+            if (call.start()) {
+                release();
+            }
+
+            return call.future;
+        }
+
+        if (evicted != null) {
+            this.dropped.increment();
+            evicted.future.completeExceptionally(new RejectedExecutionException("Dropped by bulkhead"));
+        }
+
+        return queued ? call.future : reject(callerRuns);
+    }
+
+    @Override
+    public synchronized int active() {
+        return this.active;
+    }
+
+    @Override
+    public synchronized int queued() {
+        return this.queue.size();
+    }
+
+    @Override
+    public long rejected() {
+        return this.rejected.sum();
+    }
+
+    @Override
+    public long callerRuns() {
+        return this.callerRuns.sum();
+    }
+
+    @Override
+    public long dropped() {
+        return this.dropped.sum();
+    }
+
+    private <T> CompletionStage<T> reject(Supplier<? extends CompletionStage<T>> callerRuns) {
+        if (this.rejectionPolicy != RejectionPolicy.CALLER_RUNS) {
+            this.rejected.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Bulkhead is full"));
+        }
+
+        this.callerRuns.increment();
+
+        try {
+            return callerRuns.get();
+        } catch (Throwable ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /*
+     * Hands the permit to the next queued call. Calls that complete while they are being started give the permit
+     * back straight away, so the loop keeps draining on this thread instead of recursing through the callbacks.
+     */
+    private void release() {
+        Call<?> next;
+
+        do {
+            synchronized (this) {
+                next = this.queue.pollFirst();
+
+                if (next == null) {
+                    this.active--;
+                    return;
+                }
+            }
+        } while (next.start());
+    }
+
+    record Limits(int maxConcurrent, int maxQueued, RejectionPolicy rejectionPolicy) {}
+
+    private final class Call<T> {
+        private final Supplier<? extends CompletionStage<T>> operation;
+        private final CompletableFuture<T> future;
+
+        private Call(Supplier<? extends CompletionStage<T>> operation) {
+            this.operation = operation;
+            this.future = new CompletableFuture<>();
+        }
+
+        private boolean start() {
+            CompletionStage<T> stage;
+
+            try {
+                stage = this.operation.get();
+            } catch (Throwable ex) {
+                this.future.completeExceptionally(ex);
+                return true;
+            }
+
+            var handedOver = new AtomicBoolean();
+            stage.whenComplete((result, error) -> {
+                if (error != null) {
+                    this.future.completeExceptionally(error);
+                } else {
+                    this.future.complete(result);
+                }
+
+                if (!handedOver.compareAndSet(false, true)) {
+                    release();
+                }
+            });
+            return !handedOver.compareAndSet(false, true);
+        }
+    }
+}
\ No newline at end of file
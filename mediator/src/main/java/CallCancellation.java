@@ -0,0 +1,106 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/*
+ * Cancellation scope of a single sendAsync call. Work that the pipeline hands to an executor while the scope is
+ * entered registers its future here, so cancelling the call or missing its deadline interrupts the thread that runs
+ * the handler and its synchronous behaviors, and cancels the future returned by an asynchronous handler. Work that
+ * is shared between callers, such as a coalesced query, is started detached so one caller cannot cancel it for all.
+ */
+final class CallCancellation {
+    private static final ThreadLocal<CallCancellation> CURRENT = new ThreadLocal<>();
+
+    private final List<Future<?>> tasks;
+    private boolean cancelled;
+
+    CallCancellation() {
+        this.tasks = new ArrayList<>(2);
+    }
+
+    <T> CompletableFuture<T> enter(Supplier<? extends CompletionStage<T>> operation) {
+        if (isCancelled()) {
+            return CompletableFuture.failedFuture(new CancellationException("Call was cancelled"));
+        }
+
+        CallCancellation previous = CURRENT.get();
+        CURRENT.set(this);
+
+        try {
+            CompletableFuture<T> future = operation.get().toCompletableFuture();
+            register(future);
+            return future;
+        } finally {
+            restore(previous);
+        }
+    }
+
+    synchronized boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    void cancel() {
+        List<Future<?>> registered;
+
+        synchronized (this) {
+            if (this.cancelled) {
+                return;
+            }
+
+            this.cancelled = true;
+            registered = List.copyOf(this.tasks);
+            this.tasks.clear();
+        }
+
+        for (var task : registered) {
+            task.cancel(true);
+        }
+    }
+
+    static void attach(Future<?> task) {
+        CallCancellation current = CURRENT.get();
+
+        if (current != null) {
+            current.register(task);
+        }
+    }
+
+    static <T> T detached(Supplier<T> operation) {
+        CallCancellation previous = CURRENT.get();
+
+        if (previous == null) {
+            return operation.get();
+        }
+
+        CURRENT.remove();
+
+        try {
+            return operation.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    private void register(Future<?> task) {
+        synchronized (this) {
+            if (!this.cancelled) {
+                this.tasks.add(task);
+                return;
+            }
+        }
+
+        task.cancel(true);
+    }
+
+    private static void restore(CallCancellation previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+import abstractions.commands.BatchCommand;
+import abstractions.commands.ResultCommand;
+import java.util.List;
+
+record CommandBatch<TCommand extends ResultCommand<TResponse>, TResponse>(List<TCommand> commands)
+        implements BatchCommand<TCommand, TResponse> {}
\ No newline at end of file
@@ -0,0 +1,41 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/*
+ * Lets an event handler finish its work after it returns: a batch handler that only buffered the event, or a
+ * transport that is still waiting for the remote side. A publisher that runs its handlers through collect is handed
+ * every delivery deferred on its thread and can wait for them; defer tells a handler whether anyone is waiting.
+ */
+final class DeferredDeliveries {
+    private static final ThreadLocal<List<CompletableFuture<?>>> DEFERRED = new ThreadLocal<>();
+
+    private DeferredDeliveries() {}
+
+    static CompletableFuture<Void> collect(Runnable handlers) {
+        List<CompletableFuture<?>> outer = DEFERRED.get();
+        List<CompletableFuture<?>> deferred = new ArrayList<>();
+        DEFERRED.set(deferred);
+
+        try {
+            handlers.run();
+        } finally {
+            DEFERRED.set(outer);
+        }
+
+        return deferred.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.allOf(deferred.toArray(CompletableFuture<?>[]::new));
+    }
+
+    static boolean defer(CompletableFuture<?> delivery) {
+        List<CompletableFuture<?>> deferred = DEFERRED.get();
+
+        if (deferred == null) {
+            return false;
+        }
+
+        deferred.add(delivery);
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,251 @@
+import abstractions.DispatchStats;
+import abstractions.behaviors.AsyncRequestPipelineBehavior;
+import abstractions.behaviors.RequestPipelineBehavior;
+import abstractions.events.Event;
+import abstractions.events.EventHandler;
+import abstractions.requests.AsyncRequestHandler;
+import abstractions.requests.Request;
+import abstractions.requests.RequestHandler;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+final class DispatchMetrics implements RequestPipelineStage, EventPipelineStage, AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(DispatchMetrics.class.getName());
+    private static final ThreadLocal<long[]> DOWNSTREAM_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final boolean enabled;
+    private final boolean behaviorTiming;
+    private final String jmxName;
+    private final ConcurrentMap<Class<?>, DispatchStatsImpl> requests;
+    private final ConcurrentMap<Class<?>, DispatchStatsImpl> events;
+    private final ConcurrentMap<Class<?>, DispatchStatsImpl> behaviors;
+    private final List<ObjectName> exported;
+
+    DispatchMetrics(boolean enabled, boolean behaviorTiming, String jmxName) {
+        this.enabled = enabled;
+        this.behaviorTiming = behaviorTiming;
+        this.jmxName = jmxName;
+        this.requests = new ConcurrentHashMap<>();
+        this.events = new ConcurrentHashMap<>();
+        this.behaviors = new ConcurrentHashMap<>();
+        this.exported = new CopyOnWriteArrayList<>();
+    }
+
+    static DispatchMetrics disabled() {
+        return new DispatchMetrics(false, false, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public RequestPipeline apply(Class<?> requestClass, RequestPipeline pipeline) {
+        if (!this.enabled) {
+            return pipeline;
+        }
+
+        DispatchStatsImpl stats = stats(this.requests, "Request", requestClass);
+
+        return new RequestPipeline(
+                measure((RequestHandler<Request<Object>, Object>)pipeline.sync(), stats),
+                measure((AsyncRequestHandler<Request<Object>, Object>)pipeline.async(), stats));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public EventHandler<?>[] apply(Class<?> eventClass, EventHandler<?>[] pipelines) {
+        if (!this.enabled || pipelines.length == 0) {
+            return pipelines;
+        }
+
+        DispatchStatsImpl stats = stats(this.events, "Event", eventClass);
+        var measured = new EventHandler<?>[pipelines.length];
+
+        for (int i = 0; i < pipelines.length; i++) {
+            measured[i] = measure((EventHandler<Event>)pipelines[i], stats);
+        }
+
+        return measured;
+    }
+
+    /*
+     * Self time of a behavior is its elapsed time minus the time spent in next. A synchronous behavior calls next on
+     * its own thread, so the downstream time is accumulated in a per-thread slot that every timed behavior saves and
+     * restores around its call; nested and reentrant pipelines each see only their own downstream time and nothing is
+     * allocated per call. Asynchronous behaviors may continue on any thread and are timed from their futures instead.
+     */
+    <TRequest extends Request<TResponse>, TResponse> RequestHandler<TRequest, TResponse> measure(
+            RequestPipelineBehavior<TRequest, TResponse> behavior, RequestHandler<TRequest, TResponse> next) {
+        if (!this.behaviorTiming) {
+            return request -> behavior.handle(request, next);
+        }
+
+        DispatchStatsImpl stats = stats(this.behaviors, "Behavior", behavior.getClass());
+        RequestHandler<TRequest, TResponse> timedNext = request -> {
+            long start = System.nanoTime();
+
+            try {
+                return next.handle(request);
+            } finally {
+                DOWNSTREAM_NANOS.get()[0] += System.nanoTime() - start;
+            }
+        };
+
+        return request -> {
+            long[] downstream = DOWNSTREAM_NANOS.get();
+            long outer = downstream[0];
+            downstream[0] = 0;
+            long start = System.nanoTime();
+            boolean failed = true;
+
+            try {
+                TResponse response = behavior.handle(request, timedNext);
+                failed = false;
+                return response;
+            } finally {
+                stats.record(System.nanoTime() - start - downstream[0], failed);
+                downstream[0] = outer;
+            }
+        };
+    }
+
+    <TRequest extends Request<TResponse>, TResponse> AsyncRequestHandler<TRequest, TResponse> measure(
+            AsyncRequestPipelineBehavior<TRequest, TResponse> behavior, AsyncRequestHandler<TRequest, TResponse> next) {
+        if (!this.behaviorTiming) {
+            return request -> behavior.handle(request, next);
+        }
+
+        DispatchStatsImpl stats = stats(this.behaviors, "Behavior", behavior.getClass());
+
+        return request -> {
+            var downstream = new AtomicLong();
+            long start = System.nanoTime();
+            CompletionStage<TResponse> stage;
+
+            try {
+                stage = behavior.handle(request, inner -> timed(next, inner, downstream));
+            } catch (RuntimeException ex) {
+                stats.record(System.nanoTime() - start - downstream.get(), true);
+                throw ex;
+            }
+
+            return stage.whenComplete(
+                    (_, error) -> stats.record(System.nanoTime() - start - downstream.get(), error != null));
+        };
+    }
+
+    DispatchStats requestStats(Class<?> requestType) {
+        return this.requests.getOrDefault(requestType, DispatchStatsImpl.EMPTY);
+    }
+
+    DispatchStats eventStats(Class<?> eventType) {
+        return this.events.getOrDefault(eventType, DispatchStatsImpl.EMPTY);
+    }
+
+    DispatchStats behaviorStats(Class<?> behaviorType) {
+        return this.behaviors.getOrDefault(behaviorType, DispatchStatsImpl.EMPTY);
+    }
+
+    @Override
+    public void close() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        for (var name : this.exported) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException _) {
+            }
+        }
+
+        this.exported.clear();
+    }
+
+    private DispatchStatsImpl stats(ConcurrentMap<Class<?>, DispatchStatsImpl> registry, String kind, Class<?> type) {
+        return registry.computeIfAbsent(type, _ -> export(kind, type, new DispatchStatsImpl()));
+    }
+
+    private DispatchStatsImpl export(String kind, Class<?> type, DispatchStatsImpl stats) {
+        if (this.jmxName == null) {
+            return stats;
+        }
+
+        try {
+            var name = new ObjectName("mediator:mediator=" + ObjectName.quote(this.jmxName)
+                    + ",type=" + kind + ",name=" + ObjectName.quote(type.getName()));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(stats, name);
+            this.exported.add(name);
+            return stats;
+        } catch (JMException ex) {
+            LOGGER.log(Level.WARNING, "Unable to export metrics for " + type.getName(), ex);
+            return stats;
+        }
+    }
+
+    private static <TRequest extends Request<TResponse>, TResponse> RequestHandler<TRequest, TResponse> measure(
+            RequestHandler<TRequest, TResponse> next, DispatchStatsImpl stats) {
+        return request -> {
+            long start = stats.start();
+            boolean failed = true;
+
+            try {
+                TResponse response = next.handle(request);
+                failed = false;
+                return response;
+            } finally {
+                stats.stop(start, failed);
+            }
+        };
+    }
+
+    private static <TRequest extends Request<TResponse>, TResponse> AsyncRequestHandler<TRequest, TResponse> measure(
+            AsyncRequestHandler<TRequest, TResponse> next, DispatchStatsImpl stats) {
+        return request -> {
+            long start = stats.start();
+            CompletionStage<TResponse> stage;
+
+            try {
+                stage = next.handle(request);
+            } catch (RuntimeException ex) {
+                stats.stop(start, true);
+                throw ex;
+            }
+
+            return stage.whenComplete((_, error) -> stats.stop(start, error != null));
+        };
+    }
+
+    private static <TRequest extends Request<TResponse>, TResponse> CompletionStage<TResponse> timed(
+            AsyncRequestHandler<TRequest, TResponse> next, TRequest request, AtomicLong downstream) {
+        long start = System.nanoTime();
+
+        try {
+            return next.handle(request).whenComplete((_, _) -> downstream.addAndGet(System.nanoTime() - start));
+        } catch (RuntimeException ex) {
+            downstream.addAndGet(System.nanoTime() - start);
+            throw ex;
+        }
+    }
+
+    private static <TEvent extends Event> EventHandler<TEvent> measure(
+            EventHandler<TEvent> next, DispatchStatsImpl stats) {
+        return event -> {
+            long start = stats.start();
+            boolean failed = true;
+
+            try {
+                next.handle(event);
+                failed = false;
+            } finally {
+                stats.stop(start, failed);
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+import abstractions.DispatchStats;
+import java.util.concurrent.atomic.LongAdder;
+
+final class DispatchStatsImpl implements DispatchStats, DispatchStatsMXBean {
+    static final DispatchStatsImpl EMPTY = new DispatchStatsImpl();
+
+    private final LongAdder calls;
+    private final LongAdder errors;
+    private final LongAdder inFlight;
+    private final LatencyHistogram latency;
+
+    DispatchStatsImpl() {
+        this.calls = new LongAdder();
+        this.errors = new LongAdder();
+        this.inFlight = new LongAdder();
+        this.latency = new LatencyHistogram();
+    }
+
+    long start() {
+        this.inFlight.increment();
+        return System.nanoTime();
+    }
+
+    void stop(long start, boolean failed) {
+        this.latency.record(System.nanoTime() - start);
+        this.inFlight.decrement();
+        this.calls.increment();
+
+        if (failed) {
+            this.errors.increment();
+        }
+    }
+
+    void record(long nanos, boolean failed) {
+        this.latency.record(nanos);
+        this.calls.increment();
+
+        if (failed) {
+            this.errors.increment();
+        }
+    }
+
+    @Override
+    public long calls() {
+        return this.calls.sum();
+    }
+
+    @Override
+    public long errors() {
+        return this.errors.sum();
+    }
+
+    @Override
+    public long inFlight() {
+        return this.inFlight.sum();
+    }
+
+    @Override
+    public long latencyNanos(double percentile) {
+        return this.latency.percentile(percentile);
+    }
+
+    @Override
+    public long maxLatencyNanos() {
+        return this.latency.max();
+    }
+
+    @Override
+    public long getCalls() {
+        return calls();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors();
+    }
+
+    @Override
+    public long getInFlight() {
+        return inFlight();
+    }
+
+    @Override
+    public long getLatencyP50Nanos() {
+        return latencyNanos(0.5);
+    }
+
+    @Override
+    public long getLatencyP99Nanos() {
+        return latencyNanos(0.99);
+    }
+
+    @Override
+    public long getLatencyP999Nanos() {
+        return latencyNanos(0.999);
+    }
+
+    @Override
+    public long getLatencyMaxNanos() {
+        return maxLatencyNanos();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+public interface DispatchStatsMXBean {
+    long getCalls();
+
+    long getErrors();
+
+    long getInFlight();
+
+    long getLatencyP50Nanos();
+
+    long getLatencyP99Nanos();
+
+    long getLatencyP999Nanos();
+
+    long getLatencyMaxNanos();
+}
\ No newline at end of file
@@ -0,0 +1,5 @@
+import abstractions.events.BatchEvent;
+import abstractions.events.Event;
+import java.util.List;
+
+record EventBatch<TEvent extends Event>(List<TEvent> events) implements BatchEvent<TEvent> {}
\ No newline at end of file
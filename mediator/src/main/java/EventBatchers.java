@@ -0,0 +1,182 @@
+import abstractions.events.BatchEvent;
+import abstractions.events.Event;
+import abstractions.events.EventHandler;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/*
+ * Buffers for batch event handlers. A buffer never holds more than the batch size: the publisher whose event fills it
+ * delivers the batch itself, while a partly filled buffer is delivered on the dispatcher once its first event has
+ * lingered for the configured time. Batches are delivered through the event behaviors as a single BatchEvent.
+ *
+ * Each buffered event defers its publisher's delivery to the batch, so an asynchronous publish and its journal entry
+ * settle with the batch instead of when the event was buffered. A batch that also holds events nobody waits for
+ * logs its failure as well.
+ */
+final class EventBatchers implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(EventBatchers.class.getName());
+
+    private final AsyncDispatcher dispatcher;
+    private final Map<Registrations.RegisteredBatch, Batcher> batchers;
+    private ScheduledExecutorService scheduler;
+    private boolean closed;
+
+    EventBatchers(AsyncDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+        this.batchers = new IdentityHashMap<>();
+    }
+
+    synchronized EventHandler<Event> handlerFor(
+            Class<?> eventClass, Registrations.RegisteredBatch batch, EventHandler<BatchEvent<Event>> pipeline) {
+        if (this.scheduler == null && !this.closed) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                var thread = new Thread(task, "mediator-batch-linger");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        Batcher batcher = this.batchers.computeIfAbsent(batch, _ -> new Batcher(eventClass, batch, this.closed));
+        return event -> batcher.add(event, pipeline);
+    }
+
+    @Override
+    public void close() {
+        List<Batcher> open;
+
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+
+            this.closed = true;
+            open = List.copyOf(this.batchers.values());
+        }
+
+        open.forEach(Batcher::close);
+
+        if (this.scheduler != null) {
+            this.scheduler.shutdownNow();
+        }
+    }
+
+    private static void deliver(Pending batch, EventHandler<BatchEvent<Event>> pipeline) {
+        try {
+            pipeline.handle(new EventBatch<>(List.copyOf(batch.events)));
+            batch.delivered.complete(null);
+        } catch (Throwable ex) {
+            batch.delivered.completeExceptionally(ex);
+
+            if (batch.unawaited) {
+                LOGGER.log(Level.WARNING, "Event batch delivery failed", ex);
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final List<Event> events = new ArrayList<>();
+        private final CompletableFuture<Void> delivered = new CompletableFuture<>();
+        private boolean unawaited;
+
+        private void add(Event event) {
+            this.events.add(event);
+
+            if (!DeferredDeliveries.defer(this.delivered)) {
+                this.unawaited = true;
+            }
+        }
+    }
+
+    private final class Batcher {
+        private final Class<?> eventClass;
+        private final int maxBatchSize;
+        private final long maxLingerNanos;
+        private Pending buffer;
+        private EventHandler<BatchEvent<Event>> pipeline;
+        private long generation;
+        private boolean closed;
+
+        private Batcher(Class<?> eventClass, Registrations.RegisteredBatch batch, boolean closed) {
+            this.eventClass = eventClass;
+            this.maxBatchSize = batch.maxBatchSize();
+            this.maxLingerNanos = batch.maxLinger().toNanos();
+            this.buffer = new Pending();
+            this.closed = closed;
+        }
+
+        private void add(Event event, EventHandler<BatchEvent<Event>> pipeline) {
+            Pending full = null;
+
+            synchronized (this) {
+                if (this.closed) {
+                    full = new Pending();
+                    full.add(event);
+                } else {
+                    this.pipeline = pipeline;
+                    this.buffer.add(event);
+
+                    if (this.buffer.events.size() >= this.maxBatchSize) {
+                        full = swap();
+                    } else if (this.buffer.events.size() == 1) {
+                        long expected = this.generation;
+                        scheduler.schedule(() -> linger(expected), this.maxLingerNanos, TimeUnit.NANOSECONDS);
+                    }
+                }
+            }
+
+            if (full != null) {
+                deliver(full, pipeline);
+            }
+        }
+
+        private void linger(long expected) {
+            Pending batch;
+            EventHandler<BatchEvent<Event>> current;
+
+            synchronized (this) {
+                if (this.generation != expected || this.buffer.events.isEmpty()) {
+                    return;
+                }
+
+                current = this.pipeline;
+                batch = swap();
+            }
+
+            dispatcher.runAsync(this.eventClass, () -> deliver(batch, current)).whenComplete((_, error) -> {
+                if (error != null) {
+                    deliver(batch, current);
+                }
+            });
+        }
+
+        private void close() {
+            Pending remaining;
+            EventHandler<BatchEvent<Event>> current;
+
+            synchronized (this) {
+                this.closed = true;
+                current = this.pipeline;
+                remaining = swap();
+            }
+
+            if (!remaining.events.isEmpty()) {
+                deliver(remaining, current);
+            }
+        }
+
+        private Pending swap() {
+            Pending batch = this.buffer;
+            this.buffer = new Pending();
+            this.generation++;
+            return batch;
+        }
+    }
+}
\ No newline at end of file
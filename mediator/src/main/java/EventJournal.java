@@ -0,0 +1,366 @@
+import abstractions.events.Event;
+import abstractions.events.EventSerializer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/*
+ * Append-only log of published events split into fixed size memory-mapped segments. A record is
+ * [length][crc32c][state][payload]; the length is written last so a record is either complete or reads as the end
+ * of the segment. Appends wait for a single flusher thread that forces every dirty segment once per batch, and the
+ * state byte is flipped in place once every handler has succeeded, so an event whose delivery failed stays pending
+ * and is replayed on the next start. Sealed segments without pending records are deleted by the flusher thread; a
+ * segment that cannot be deleted is logged and retried on the next start, where it is read without being mapped.
+ */
+final class EventJournal implements AutoCloseable {
+    static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+
+    private static final int HEADER_BYTES = 9;
+    private static final int STATE_OFFSET = 8;
+    private static final byte PENDING = 1;
+    private static final byte DELIVERED = 2;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final Logger LOGGER = Logger.getLogger(EventJournal.class.getName());
+
+    private final Path directory;
+    private final EventSerializer serializer;
+    private final long segmentBytes;
+    private final Object lock;
+    private final List<Entry> recovered;
+    private final Set<Segment> segments;
+    private final Set<Segment> dirty;
+    private final List<Segment> retired;
+    private final Thread flusher;
+    private List<Durable> waiting;
+    private Segment active;
+    private long nextSegment;
+    private boolean closed;
+
+    EventJournal(Path directory, EventSerializer serializer, long segmentBytes) {
+        if (segmentBytes <= HEADER_BYTES || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Journal segment size is out of range");
+        }
+
+        this.directory = directory;
+        this.serializer = serializer;
+        this.segmentBytes = segmentBytes;
+        this.lock = new Object();
+        this.recovered = new ArrayList<>();
+        this.segments = new LinkedHashSet<>();
+        this.dirty = new LinkedHashSet<>();
+        this.retired = new ArrayList<>();
+        this.waiting = new ArrayList<>();
+
+        try {
+            Files.createDirectories(directory);
+            recover();
+            this.active = openSegment(this.nextSegment++);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to open event journal in " + directory, ex);
+        }
+
+        this.flusher = Thread.ofPlatform().name("mediator-journal-flusher").daemon().start(this::flushLoop);
+    }
+
+    List<Entry> recovered() {
+        return this.recovered;
+    }
+
+    CompletableFuture<Entry> append(Event event) {
+        byte[] payload = this.serializer.serialize(event);
+
+        if (payload.length > this.segmentBytes - HEADER_BYTES) {
+            throw new IllegalArgumentException("Event is too large for the journal segment");
+        }
+
+        var crc = new CRC32C();
+        crc.update(payload);
+        var durable = new CompletableFuture<Entry>();
+
+        synchronized (this.lock) {
+            if (this.closed) {
+                return CompletableFuture.failedFuture(new RejectedExecutionException("Event journal is closed"));
+            }
+
+            if (this.active.position + HEADER_BYTES + payload.length > this.segmentBytes) {
+                roll();
+            }
+
+            Segment segment = this.active;
+            int offset = segment.position;
+            segment.buffer.put(offset + STATE_OFFSET, PENDING);
+            segment.buffer.put(offset + HEADER_BYTES, payload);
+            segment.buffer.putInt(offset + 4, (int)crc.getValue());
+            segment.buffer.putInt(offset, payload.length);
+            segment.position = offset + HEADER_BYTES + payload.length;
+            segment.pending++;
+
+            this.dirty.add(segment);
+            this.waiting.add(new Durable(new Entry(this, segment, offset, event), durable));
+
+            if (this.waiting.size() == 1) {
+                this.lock.notifyAll();
+            }
+        }
+
+        return durable;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this.lock) {
+            if (this.closed) {
+                return;
+            }
+
+            this.closed = true;
+            this.lock.notifyAll();
+        }
+
+        try {
+            this.flusher.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this.lock) {
+            this.segments.forEach(EventJournal::closeSegment);
+        }
+    }
+
+    private void delivered(Segment segment, int offset) {
+        synchronized (this.lock) {
+            if (this.closed) {
+                return;
+            }
+
+            segment.buffer.put(offset + STATE_OFFSET, DELIVERED);
+
+            if (--segment.pending == 0 && segment != this.active) {
+                retire(segment);
+            }
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            List<Durable> batch;
+            List<Segment> flushed;
+            List<Segment> deleted;
+            boolean stopping;
+
+            synchronized (this.lock) {
+                while (this.waiting.isEmpty() && this.retired.isEmpty() && !this.closed) {
+                    try {
+                        this.lock.wait();
+                    } catch (InterruptedException _) {
+                        return;
+                    }
+                }
+
+                batch = this.waiting;
+                flushed = List.copyOf(this.dirty);
+                deleted = List.copyOf(this.retired);
+                stopping = this.closed;
+                this.waiting = new ArrayList<>();
+                this.dirty.clear();
+                this.retired.clear();
+            }
+
+            RuntimeException failure = null;
+
+            for (var segment : flushed) {
+                try {
+                    segment.buffer.force();
+                } catch (UncheckedIOException ex) {
+                    failure = ex;
+                }
+            }
+
+            for (var durable : batch) {
+                if (failure == null) {
+                    durable.future.complete(durable.entry);
+                } else {
+                    durable.future.completeExceptionally(failure);
+                }
+            }
+
+            deleted.forEach(EventJournal::deleteSegment);
+
+            if (stopping) {
+                return;
+            }
+        }
+    }
+
+    private void roll() {
+        Segment sealed = this.active;
+
+        try {
+            this.active = openSegment(this.nextSegment++);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to roll event journal segment", ex);
+        }
+
+        if (sealed.pending == 0) {
+            retire(sealed);
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+
+        try (Stream<Path> listing = Files.list(this.directory)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+
+        for (var file : files) {
+            String name = file.getFileName().toString();
+            long index = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            this.nextSegment = Math.max(this.nextSegment, index + 1);
+
+            List<Integer> pending = new ArrayList<>();
+            List<Event> events = new ArrayList<>();
+            int position = scan(ByteBuffer.wrap(Files.readAllBytes(file)), pending, events);
+
+            if (pending.isEmpty()) {
+                deleteFile(file);
+                continue;
+            }
+
+            var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            var segment = new Segment(file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+            segment.position = position;
+            segment.pending = pending.size();
+            this.segments.add(segment);
+
+            for (int i = 0; i < pending.size(); i++) {
+                this.recovered.add(new Entry(this, segment, pending.get(i), events.get(i)));
+            }
+        }
+    }
+
+    private int scan(ByteBuffer buffer, List<Integer> pending, List<Event> events) {
+        int offset = 0;
+
+        while (offset + HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+
+            if (length <= 0 || offset + HEADER_BYTES + length > buffer.capacity()) {
+                break;
+            }
+
+            byte[] payload = new byte[length];
+            buffer.get(offset + HEADER_BYTES, payload);
+            var crc = new CRC32C();
+            crc.update(payload);
+
+            if ((int)crc.getValue() != buffer.getInt(offset + 4)) {
+                break;
+            }
+
+            if (buffer.get(offset + STATE_OFFSET) == PENDING) {
+                pending.add(offset);
+                events.add(this.serializer.deserialize(payload));
+            }
+
+            offset += HEADER_BYTES + length;
+        }
+
+        return offset;
+    }
+
+    private Segment openSegment(long index) throws IOException {
+        Path file = this.directory.resolve("%020d%s".formatted(index, SEGMENT_SUFFIX));
+        var channel = FileChannel.open(
+                file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        var segment = new Segment(file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, this.segmentBytes));
+        this.segments.add(segment);
+        return segment;
+    }
+
+    private void retire(Segment segment) {
+        this.segments.remove(segment);
+        this.retired.add(segment);
+        this.lock.notifyAll();
+    }
+
+    private static void deleteSegment(Segment segment) {
+        try {
+            closeSegment(segment);
+        } catch (UncheckedIOException ex) {
+            LOGGER.log(Level.WARNING, ex.getMessage(), ex.getCause());
+        }
+
+        deleteFile(segment.file);
+    }
+
+    private static void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Unable to delete event journal segment " + file, ex);
+        }
+    }
+
+    private static void closeSegment(Segment segment) {
+        try {
+            segment.channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to close event journal segment " + segment.file, ex);
+        }
+    }
+
+    static final class Entry {
+        private final EventJournal journal;
+        private final Segment segment;
+        private final int offset;
+        private final Event event;
+
+        private Entry(EventJournal journal, Segment segment, int offset, Event event) {
+            this.journal = journal;
+            this.segment = segment;
+            this.offset = offset;
+            this.event = event;
+        }
+
+        Event event() {
+            return this.event;
+        }
+
+        void delivered() {
+            this.journal.delivered(this.segment, this.offset);
+        }
+    }
+
+    private record Durable(Entry entry, CompletableFuture<Entry> future) {}
+
+    private static final class Segment {
+        private final Path file;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int pending;
+        private int position;
+
+        private Segment(Path file, FileChannel channel, MappedByteBuffer buffer) {
+            this.file = file;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,5 @@
+import abstractions.events.EventHandler;
+
+interface EventPipelineStage {
+    EventHandler<?>[] apply(Class<?> eventClass, EventHandler<?>[] pipelines);
+}
\ No newline at end of file
@@ -0,0 +1,211 @@
+import abstractions.WaitStrategy;
+import abstractions.events.Event;
+import abstractions.events.EventHandler;
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/*
+ * Bounded multi-producer multi-consumer ring (Vyukov). Every slot carries a sequence number: a producer may fill
+ * slot i when its sequence equals the claimed position, a consumer may take it when it equals position + 1, and
+ * releasing the slot advances it by a full lap. Slots are preallocated, so publishing does not allocate.
+ *
+ * Consumers leave once the mediator is closed and the ring looks empty. A producer that claimed a slot concurrently
+ * with close may therefore find no consumer left, so it checks again after publishing and drains the ring itself.
+ */
+final class EventRingBuffer implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(EventRingBuffer.class.getName());
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final Event[] events;
+    private final EventHandler<?>[][] pipelines;
+    private final AtomicLong enqueuePosition;
+    private final AtomicLong dequeuePosition;
+    private final WaitStrategy waitStrategy;
+    private final Duration shutdownTimeout;
+    private final Thread[] consumers;
+    private volatile boolean closed;
+
+    EventRingBuffer(int capacity, int consumers, WaitStrategy waitStrategy, Duration shutdownTimeout) {
+        if (capacity <= 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Ring buffer capacity is out of range");
+        }
+
+        if (consumers <= 0) {
+            throw new IllegalArgumentException("Ring buffer consumer count must be positive");
+        }
+
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        this.events = new Event[size];
+        this.pipelines = new EventHandler<?>[size][];
+        this.enqueuePosition = new AtomicLong();
+        this.dequeuePosition = new AtomicLong();
+        this.waitStrategy = waitStrategy;
+        this.shutdownTimeout = shutdownTimeout;
+        this.consumers = new Thread[consumers];
+
+        for (int i = 0; i < size; i++) {
+            this.sequences.set(i, i);
+        }
+
+        for (int i = 0; i < consumers; i++) {
+            this.consumers[i] = Thread.ofPlatform().name("mediator-ring-consumer-" + i).daemon().start(this::consume);
+        }
+    }
+
+    void publish(Event event, EventHandler<?>[] handlers) {
+        int idle = 0;
+
+        while (true) {
+            if (this.closed) {
+                throw new RejectedExecutionException("Mediator is closed");
+            }
+
+            long position = this.enqueuePosition.get();
+            int index = (int)position & this.mask;
+            long difference = this.sequences.getAcquire(index) - position;
+
+            if (difference == 0) {
+                if (this.enqueuePosition.compareAndSet(position, position + 1)) {
+                    this.events[index] = event;
+                    this.pipelines[index] = handlers;
+                    this.sequences.setRelease(index, position + 1);
+
+                    if (this.closed) {
+                        drain();
+                    }
+
+                    return;
+                }
+            } else if (difference < 0) {
+                idle = idle(idle);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+        long deadline = System.nanoTime() + this.shutdownTimeout.toNanos();
+
+        try {
+            for (var consumer : this.consumers) {
+                long remaining = deadline - System.nanoTime();
+
+                if (remaining <= 0 || !consumer.join(Duration.ofNanos(remaining))) {
+                    break;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (var consumer : this.consumers) {
+            consumer.interrupt();
+        }
+    }
+
+    private void consume() {
+        int idle = 0;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            long position = this.dequeuePosition.get();
+            int index = (int)position & this.mask;
+            long difference = this.sequences.getAcquire(index) - (position + 1);
+
+            if (difference == 0) {
+                if (take(position, index)) {
+                    idle = 0;
+                }
+            } else if (difference < 0) {
+                if (this.closed && this.enqueuePosition.get() == position) {
+                    return;
+                }
+
+                idle = idle(idle);
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            long position = this.dequeuePosition.get();
+
+            if (position == this.enqueuePosition.get()) {
+                return;
+            }
+
+            int index = (int)position & this.mask;
+
+            if (this.sequences.getAcquire(index) == position + 1) {
+                take(position, index);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private boolean take(long position, int index) {
+        if (!this.dequeuePosition.compareAndSet(position, position + 1)) {
+            return false;
+        }
+
+        Event event = this.events[index];
+        EventHandler<?>[] handlers = this.pipelines[index];
+        this.events[index] = null;
+        this.pipelines[index] = null;
+        this.sequences.setRelease(index, position + this.mask + 1);
+        handle(event, handlers);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <TEvent extends Event> void handle(TEvent event, EventHandler<?>[] handlers) {
+        for (var handler : handlers) {
+            try {
+                ((EventHandler<TEvent>)handler).handle(event);
+            } catch (Throwable ex) {
+                LOGGER.log(Level.WARNING, "Event handler failed", ex);
+            }
+        }
+    }
+
+    private int idle(int idle) {
+        switch (this.waitStrategy) {
+            case BUSY_SPIN -> Thread.onSpinWait();
+            case YIELD -> {
+                if (idle < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            case PARK -> {
+                if (idle < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else if (idle < SPIN_TRIES + YIELD_TRIES) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, 1L << Math.min(20, idle - SPIN_TRIES - YIELD_TRIES)));
+                }
+            }
+        }
+
+        return idle == Integer.MAX_VALUE ? idle : idle + 1;
+    }
+}
\ No newline at end of file
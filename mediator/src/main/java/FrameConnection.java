@@ -0,0 +1,230 @@
+import abstractions.transport.RemoteDispatchException;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+
+/*
+ * A non-blocking socket that exchanges length-prefixed frames:
+ *
+ *   [int length][byte type][int correlation id][payload]
+ *
+ * where the length covers everything after itself. Any number of frames may be in flight in each direction, so
+ * requests are pipelined over one connection and matched to their responses by correlation id. Frames queued by
+ * other threads are written out by the loop in one gathering write.
+ *
+ * A FAILURE payload carries the class name and message of the remote exception as [int length][UTF-8] pairs, with a
+ * length of -1 for a missing message, so the caller can tell what went wrong on the other side.
+ */
+final class FrameConnection implements NioLoop.Handler {
+    static final byte REQUEST = 1;
+    static final byte EVENT = 2;
+    static final byte RESPONSE = 3;
+    static final byte ACK = 4;
+    static final byte FAILURE = 5;
+
+    private static final int HEADER_BYTES = Integer.BYTES + Byte.BYTES + Integer.BYTES;
+    private static final int MAX_FRAME_BYTES = 16 * 1024 * 1024;
+
+    private final NioLoop loop;
+    private final SocketChannel channel;
+    private final Listener listener;
+    private final ArrayDeque<ByteBuffer> writes;
+    private ByteBuffer readBuffer;
+    private SelectionKey key;
+    private boolean closed;
+
+    private FrameConnection(NioLoop loop, SocketChannel channel, Listener listener) {
+        this.loop = loop;
+        this.channel = channel;
+        this.listener = listener;
+        this.writes = new ArrayDeque<>();
+        this.readBuffer = ByteBuffer.allocate(64 * 1024);
+    }
+
+    static FrameConnection accepted(NioLoop loop, SocketChannel channel, Listener listener) throws IOException {
+        var connection = new FrameConnection(loop, channel, listener);
+        channel.configureBlocking(false);
+        connection.key = channel.register(loop.selector(), SelectionKey.OP_READ, connection);
+        return connection;
+    }
+
+    static FrameConnection connect(NioLoop loop, SocketAddress address, Listener listener) throws IOException {
+        SocketChannel channel = SocketChannel.open();
+        var connection = new FrameConnection(loop, channel, listener);
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+        int interest = channel.connect(address) ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT;
+        connection.key = channel.register(loop.selector(), interest, connection);
+        return connection;
+    }
+
+    static byte[] failure(Throwable cause) {
+        byte[] type = cause.getClass().getName().getBytes(StandardCharsets.UTF_8);
+        byte[] message = cause.getMessage() != null ? cause.getMessage().getBytes(StandardCharsets.UTF_8) : null;
+        var payload = ByteBuffer.allocate(Integer.BYTES * 2 + type.length + (message != null ? message.length : 0));
+        payload.putInt(type.length).put(type);
+
+        if (message != null) {
+            payload.putInt(message.length).put(message);
+        } else {
+            payload.putInt(-1);
+        }
+
+        return payload.array();
+    }
+
+    static RemoteDispatchException remoteFailure(byte[] payload) {
+        var buffer = ByteBuffer.wrap(payload);
+        String type = string(buffer, buffer.getInt());
+        int messageLength = buffer.getInt();
+        return new RemoteDispatchException(type, messageLength >= 0 ? string(buffer, messageLength) : null);
+    }
+
+    void send(byte type, int id, byte[] payload) {
+        var frame = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        frame.putInt(frame.capacity() - Integer.BYTES).put(type).putInt(id).put(payload).flip();
+
+        if (this.loop.inLoop()) {
+            enqueue(frame);
+        } else {
+            this.loop.execute(() -> enqueue(frame));
+        }
+    }
+
+    void close() {
+        if (this.loop.inLoop()) {
+            fail(new ClosedChannelException());
+        } else {
+            this.loop.execute(() -> fail(new ClosedChannelException()));
+        }
+    }
+
+    @Override
+    public void ready(SelectionKey key) {
+        try {
+            if (key.isConnectable() && this.channel.finishConnect()) {
+                key.interestOps(SelectionKey.OP_READ);
+                flush();
+            }
+
+            if (key.isValid() && key.isReadable()) {
+                read();
+            }
+
+            if (key.isValid() && key.isWritable()) {
+                flush();
+            }
+        } catch (IOException ex) {
+            fail(ex);
+        }
+    }
+
+    @Override
+    public void closed() {
+        fail(new ClosedChannelException());
+    }
+
+    private static String string(ByteBuffer buffer, int length) {
+        var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void enqueue(ByteBuffer frame) {
+        if (this.closed) {
+            return;
+        }
+
+        this.writes.add(frame);
+
+        try {
+            flush();
+        } catch (IOException ex) {
+            fail(ex);
+        }
+    }
+
+    private void flush() throws IOException {
+        if (!this.channel.isConnected()) {
+            return;
+        }
+
+        while (!this.writes.isEmpty()) {
+            this.channel.write(this.writes.toArray(ByteBuffer[]::new));
+
+            while (!this.writes.isEmpty() && !this.writes.peek().hasRemaining()) {
+                this.writes.poll();
+            }
+
+            if (!this.writes.isEmpty()) {
+                this.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+        }
+
+        this.key.interestOps(SelectionKey.OP_READ);
+    }
+
+    private void read() throws IOException {
+        if (this.channel.read(this.readBuffer) < 0) {
+            throw new ClosedChannelException();
+        }
+
+        this.readBuffer.flip();
+
+        while (this.readBuffer.remaining() >= Integer.BYTES) {
+            int length = this.readBuffer.getInt(this.readBuffer.position());
+
+            if (length < HEADER_BYTES - Integer.BYTES || length > MAX_FRAME_BYTES) {
+                throw new IOException("Invalid frame length " + length);
+            }
+
+            if (this.readBuffer.remaining() < Integer.BYTES + length) {
+                if (this.readBuffer.capacity() < Integer.BYTES + length) {
+                    this.readBuffer = ByteBuffer.allocate(Integer.BYTES + length).put(this.readBuffer).flip();
+                }
+
+                break;
+            }
+
+            this.readBuffer.getInt();
+            byte type = this.readBuffer.get();
+            int id = this.readBuffer.getInt();
+            var payload = new byte[length - (HEADER_BYTES - Integer.BYTES)];
+            this.readBuffer.get(payload);
+            this.listener.onFrame(this, type, id, payload);
+        }
+
+        this.readBuffer.compact();
+    }
+
+    private void fail(IOException cause) {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+        this.writes.clear();
+        this.key.cancel();
+
+        try {
+            this.channel.close();
+        } catch (IOException _) {
+        }
+
+        this.listener.onClosed(this, cause);
+    }
+
+    interface Listener {
+        void onFrame(FrameConnection connection, byte type, int id, byte[] payload);
+
+        void onClosed(FrameConnection connection, IOException cause);
+    }
+}
\ No newline at end of file
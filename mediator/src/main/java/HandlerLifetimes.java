@@ -0,0 +1,148 @@
+import abstractions.HandlerLifetime;
+import abstractions.events.Event;
+import abstractions.events.EventHandler;
+import abstractions.requests.Request;
+import abstractions.requests.RequestHandler;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/*
+ * Turns a handler factory into a plain handler that obtains an instance for every call and gives it back when the
+ * call returns. Lazy singletons are created by the first call, per-call instances are simply dropped, and a pool
+ * creates up to its size on demand and otherwise makes callers wait for an instance to come back; a waiting caller
+ * can be interrupted, so cancelled calls leave the queue.
+ */
+final class HandlerLifetimes {
+    private HandlerLifetimes() {}
+
+    static <TRequest extends Request<TResponse>, TResponse> RequestHandler<TRequest, TResponse> requestHandler(
+            Supplier<? extends RequestHandler<TRequest, TResponse>> factory, HandlerLifetime lifetime) {
+        Provider<RequestHandler<TRequest, TResponse>> provider = provider(factory, lifetime);
+
+        return request -> {
+            RequestHandler<TRequest, TResponse> handler = provider.acquire();
+
+            try {
+                return handler.handle(request);
+            } finally {
+                provider.release(handler);
+            }
+        };
+    }
+
+    static <TEvent extends Event> EventHandler<TEvent> eventHandler(
+            Supplier<? extends EventHandler<TEvent>> factory, HandlerLifetime lifetime) {
+        Provider<EventHandler<TEvent>> provider = provider(factory, lifetime);
+
+        return event -> {
+            EventHandler<TEvent> handler = provider.acquire();
+
+            try {
+                handler.handle(event);
+            } finally {
+                provider.release(handler);
+            }
+        };
+    }
+
+    private static <H> Provider<H> provider(Supplier<? extends H> factory, HandlerLifetime lifetime) {
+        Objects.requireNonNull(factory);
+
+        return switch (Objects.requireNonNull(lifetime)) {
+            case HandlerLifetime.LazySingleton _ -> new LazySingleton<>(factory);
+            case HandlerLifetime.PerCall _ -> new PerCall<>(factory);
+            case HandlerLifetime.Pooled pooled -> new Pool<>(factory, pooled.maxSize());
+        };
+    }
+
+    private interface Provider<H> {
+        H acquire();
+
+        void release(H handler);
+    }
+
+    private static final class LazySingleton<H> implements Provider<H> {
+        private final Supplier<? extends H> factory;
+        private volatile H instance;
+
+        private LazySingleton(Supplier<? extends H> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public H acquire() {
+            H current = this.instance;
+
+            if (current == null) {
+                synchronized (this) {
+                    current = this.instance;
+
+                    if (current == null) {
+                        current = Objects.requireNonNull(this.factory.get());
+                        this.instance = current;
+                    }
+                }
+            }
+
+            return current;
+        }
+
+        @Override
+        public void release(H handler) {
+        }
+    }
+
+    private record PerCall<H>(Supplier<? extends H> factory) implements Provider<H> {
+        @Override
+        public H acquire() {
+            return Objects.requireNonNull(this.factory.get());
+        }
+
+        @Override
+        public void release(H handler) {
+        }
+    }
+
+    private static final class Pool<H> implements Provider<H> {
+        private final Supplier<? extends H> factory;
+        private final Semaphore permits;
+        private final ConcurrentLinkedDeque<H> idle;
+
+        private Pool(Supplier<? extends H> factory, int maxSize) {
+            this.factory = factory;
+            this.permits = new Semaphore(maxSize);
+            this.idle = new ConcurrentLinkedDeque<>();
+        }
+
+        @Override
+        public H acquire() {
+            try {
+                this.permits.acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a pooled handler", ex);
+            }
+
+            H handler = this.idle.pollFirst();
+
+            if (handler != null) {
+                return handler;
+            }
+
+            try {
+                return Objects.requireNonNull(this.factory.get());
+            } catch (RuntimeException ex) {
+                this.permits.release();
+                throw ex;
+            }
+        }
+
+        @Override
+        public void release(H handler) {
+            this.idle.offerFirst(handler);
+            this.permits.release();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/*
+ * Like CompletableFuture.supplyAsync, but cancel(true) interrupts the thread running the supplier. The runner is
+ * only interrupted while the supplier is executing, and an interrupt that arrives as it finishes is cleared so it
+ * cannot leak into the next task of a pooled thread.
+ */
+final class InterruptibleTask<T> extends CompletableFuture<T> implements Runnable {
+    private final Supplier<? extends T> supplier;
+    private Thread runner;
+
+    private InterruptibleTask(Supplier<? extends T> supplier) {
+        this.supplier = supplier;
+    }
+
+    static <T> CompletableFuture<T> submit(Supplier<? extends T> supplier, Executor executor) {
+        var task = new InterruptibleTask<T>(supplier);
+        CallCancellation.attach(task);
+        executor.execute(task);
+        return task;
+    }
+
+    @Override
+    public void run() {
+        synchronized (this) {
+            if (isDone()) {
+                return;
+            }
+
+            this.runner = Thread.currentThread();
+        }
+
+        try {
+            complete(this.supplier.get());
+        } catch (Throwable ex) {
+            completeExceptionally(ex);
+        } finally {
+            synchronized (this) {
+                this.runner = null;
+            }
+
+            if (isCancelled()) {
+                Thread.interrupted();
+            }
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+
+        if (cancelled && mayInterruptIfRunning) {
+            synchronized (this) {
+                if (this.runner != null) {
+                    this.runner.interrupt();
+                }
+            }
+        }
+
+        return cancelled;
+    }
+}
\ No newline at end of file
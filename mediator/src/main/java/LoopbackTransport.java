@@ -0,0 +1,47 @@
+import abstractions.Mediator;
+import abstractions.events.Event;
+import abstractions.requests.Request;
+import abstractions.transport.MessageSerializer;
+import abstractions.transport.Transport;
+import java.util.concurrent.CompletableFuture;
+
+/*
+ * In-memory transport that hands calls straight to another mediator in the same process. Given a serializer, every
+ * message and response is copied through it, so tests also catch types the real transport could not carry.
+ */
+public final class LoopbackTransport implements Transport {
+    private final Mediator target;
+    private final MessageSerializer serializer;
+
+    public LoopbackTransport(Mediator target) {
+        this(target, null);
+    }
+
+    public LoopbackTransport(Mediator target, MessageSerializer serializer) {
+        this.target = target;
+        this.serializer = serializer;
+    }
+
+    @Override
+    public <TResponse> CompletableFuture<TResponse> send(Request<TResponse> request) {
+        return this.target.sendAsync(copy(request)).thenApply(this::copy);
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(Event event) {
+        return this.target.publishAsync(copy(event));
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T copy(T message) {
+        if (this.serializer == null || message == null) {
+            return message;
+        }
+
+        return (T)this.serializer.deserialize(this.serializer.serialize(message));
+    }
+}
\ No newline at end of file
@@ -9,11 +9,12 @@ import java.util.logging.Logger;
 
 public class Main {
     public static void main(String... args) {
-        var mediator = new MediatorImpl();
-        mediator.registerHandler(CreateUserCommand.class, new CreateUserCommandHandler());
-        mediator.registerHandler(CreateToDoCommand.class, new CreateToDoCommandHandler());
-        mediator.registerPipelineBehavior(new LoggingPipelineBehavior<>());
-        mediator.registerPipelineBehavior(new ValidatePipelineBehavior());
+        var mediator = new MediatorBuilder()
+                .registerHandler(CreateUserCommand.class, new CreateUserCommandHandler())
+                .registerHandler(CreateToDoCommand.class, new CreateToDoCommandHandler())
+                .registerRequestPipelineBehavior(new LoggingPipelineBehavior<>())
+                .registerRequestPipelineBehavior(new ValidatePipelineBehavior())
+                .build();
 
         mediator.send(new CreateUserCommand("Алексей"));
         System.out.println("\n\n");
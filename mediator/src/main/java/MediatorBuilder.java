@@ -0,0 +1,431 @@
+import abstractions.HandlerLifetime;
+import abstractions.Mediator;
+import abstractions.RejectionPolicy;
+import abstractions.WaitStrategy;
+import abstractions.behaviors.AsyncRequestPipelineBehavior;
+import abstractions.behaviors.EventPipelineBehavior;
+import abstractions.behaviors.RequestPipelineBehavior;
+import abstractions.behaviors.StreamPipelineBehavior;
+import abstractions.commands.BatchRequestHandler;
+import abstractions.commands.ResultCommand;
+import abstractions.events.BatchEventHandler;
+import abstractions.events.Event;
+import abstractions.events.EventHandler;
+import abstractions.events.EventSerializer;
+import abstractions.queries.LazyStreamQueryHandler;
+import abstractions.queries.Query;
+import abstractions.queries.StreamQuery;
+import abstractions.queries.StreamQueryHandler;
+import abstractions.requests.AsyncRequestHandler;
+import abstractions.requests.Request;
+import abstractions.requests.RequestHandler;
+import abstractions.transport.Transport;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongBiFunction;
+
+public class MediatorBuilder {
+    private Registrations registrations;
+    private final Map<Class<?>, Executor> typeExecutors;
+    private final Map<Class<?>, Bulkhead.Limits> bulkheads;
+    private final Map<Class<?>, Function<Object, Object>> partitionKeys;
+    private int orderedLanes;
+    private final Set<Class<?>> coalescedQueries;
+    private final Map<Class<?>, Duration> cachedQueries;
+    private final Map<Class<?>, Duration> timeouts;
+    private final Map<Class<?>, QueryHedger.Settings> hedgedQueries;
+    private final Map<Class<?>, Set<Class<?>>> commandInvalidations;
+    private final Map<Class<?>, Set<Class<?>>> eventInvalidations;
+    private long queryCacheWeight;
+    private ToLongBiFunction<Object, Object> queryCacheWeigher;
+    private boolean metrics;
+    private boolean behaviorMetrics;
+    private String jmxName;
+    private Path journalDirectory;
+    private EventSerializer journalSerializer;
+    private long journalSegmentBytes;
+    private int ringBufferCapacity;
+    private int ringBufferConsumers;
+    private WaitStrategy ringBufferWaitStrategy;
+    private Executor executor;
+    private boolean virtualThreads;
+    private Duration shutdownTimeout;
+
+    public MediatorBuilder() {
+        this.registrations = Registrations.EMPTY;
+        this.typeExecutors = new LinkedHashMap<>();
+        this.bulkheads = new LinkedHashMap<>();
+        this.partitionKeys = new LinkedHashMap<>();
+        this.orderedLanes = Runtime.getRuntime().availableProcessors();
+        this.coalescedQueries = new HashSet<>();
+        this.cachedQueries = new HashMap<>();
+        this.timeouts = new LinkedHashMap<>();
+        this.hedgedQueries = new LinkedHashMap<>();
+        this.commandInvalidations = new HashMap<>();
+        this.eventInvalidations = new HashMap<>();
+        this.queryCacheWeight = QueryCache.DEFAULT_MAXIMUM_WEIGHT;
+        this.queryCacheWeigher = (_, _) -> 1;
+        this.shutdownTimeout = AsyncDispatcher.DEFAULT_SHUTDOWN_TIMEOUT;
+    }
+
+    public <TRequest extends Request<TResponse>, TResponse> MediatorBuilder registerHandler(
+            Class<TRequest> requestType, RequestHandler<TRequest, TResponse> requestHandler) {
+        this.registrations = this.registrations.withHandler(requestType, requestHandler);
+        return this;
+    }
+
+    public <TRequest extends Request<TResponse>, TResponse> MediatorBuilder registerHandler(
+            Class<TRequest> requestType,
+            Supplier<? extends RequestHandler<TRequest, TResponse>> handlerFactory,
+            HandlerLifetime lifetime) {
+        this.registrations = this.registrations.withHandler(requestType, handlerFactory, lifetime);
+        return this;
+    }
+
+    public <TRequest extends Request<TResponse>, TResponse> MediatorBuilder registerAsyncHandler(
+            Class<TRequest> requestType, AsyncRequestHandler<TRequest, TResponse> requestHandler) {
+        this.registrations = this.registrations.withAsyncHandler(requestType, requestHandler);
+        return this;
+    }
+
+    public <TEvent extends Event> MediatorBuilder registerEventHandler(
+            Class<TEvent> eventType, EventHandler<TEvent> eventHandler) {
+        this.registrations = this.registrations.withEventHandler(eventType, eventHandler);
+        return this;
+    }
+
+    public <TEvent extends Event> MediatorBuilder registerEventHandler(
+            Class<TEvent> eventType,
+            Supplier<? extends EventHandler<TEvent>> handlerFactory,
+            HandlerLifetime lifetime) {
+        this.registrations = this.registrations.withEventHandler(eventType, handlerFactory, lifetime);
+        return this;
+    }
+
+    public <TEvent extends Event> MediatorBuilder registerEventHandler(
+            Class<TEvent> eventType, BatchEventHandler<TEvent> eventHandler, int maxBatchSize, Duration maxLinger) {
+        this.registrations = this.registrations.withBatchEventHandler(eventType, eventHandler, maxBatchSize, maxLinger);
+        return this;
+    }
+
+    public <TCommand extends ResultCommand<TResponse>, TResponse> MediatorBuilder registerBatchHandler(
+            Class<TCommand> commandType, BatchRequestHandler<TCommand, TResponse> batchHandler) {
+        this.registrations = this.registrations.withBatchHandler(commandType, batchHandler);
+        return this;
+    }
+
+    public <TQuery extends StreamQuery<TItem>, TItem> MediatorBuilder registerStreamHandler(
+            Class<TQuery> queryType, StreamQueryHandler<TQuery, TItem> queryHandler) {
+        this.registrations = this.registrations.withStreamHandler(queryType, queryHandler);
+        return this;
+    }
+
+    public <TQuery extends StreamQuery<TItem>, TItem> MediatorBuilder registerLazyStreamHandler(
+            Class<TQuery> queryType, LazyStreamQueryHandler<TQuery, TItem> queryHandler) {
+        this.registrations = this.registrations.withLazyStreamHandler(queryType, queryHandler);
+        return this;
+    }
+
+    public <TRequest extends Request<TResponse>, TResponse> MediatorBuilder registerRequestPipelineBehavior(
+            RequestPipelineBehavior<TRequest, TResponse> behavior) {
+        this.registrations = this.registrations.withRequestBehavior(behavior);
+        return this;
+    }
+
+    public <TRequest extends Request<TResponse>, TResponse> MediatorBuilder registerAsyncRequestPipelineBehavior(
+            AsyncRequestPipelineBehavior<TRequest, TResponse> behavior) {
+        this.registrations = this.registrations.withAsyncRequestBehavior(behavior);
+        return this;
+    }
+
+    public <TEvent extends Event> MediatorBuilder registerEventPipelineBehavior(EventPipelineBehavior<TEvent> behavior) {
+        this.registrations = this.registrations.withEventBehavior(behavior);
+        return this;
+    }
+
+    public <TQuery extends StreamQuery<TItem>, TItem> MediatorBuilder registerStreamPipelineBehavior(
+            StreamPipelineBehavior<TQuery, TItem> behavior) {
+        this.registrations = this.registrations.withStreamBehavior(behavior);
+        return this;
+    }
+
+    public MediatorBuilder registerRequestPipelineBehavior(
+            Class<?> requestType, RequestPipelineBehavior<?, ?> behavior) {
+        this.registrations = this.registrations.withRequestBehavior(requestType, behavior);
+        return this;
+    }
+
+    public MediatorBuilder registerAsyncRequestPipelineBehavior(
+            Class<?> requestType, AsyncRequestPipelineBehavior<?, ?> behavior) {
+        this.registrations = this.registrations.withAsyncRequestBehavior(requestType, behavior);
+        return this;
+    }
+
+    public MediatorBuilder registerEventPipelineBehavior(Class<?> eventType, EventPipelineBehavior<?> behavior) {
+        this.registrations = this.registrations.withEventBehavior(eventType, behavior);
+        return this;
+    }
+
+    public MediatorBuilder registerStreamPipelineBehavior(Class<?> queryType, StreamPipelineBehavior<?, ?> behavior) {
+        this.registrations = this.registrations.withStreamBehavior(queryType, behavior);
+        return this;
+    }
+
+    public MediatorBuilder useExecutor(Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+        this.virtualThreads = false;
+        return this;
+    }
+
+    public MediatorBuilder useVirtualThreads() {
+        this.executor = null;
+        this.virtualThreads = true;
+        return this;
+    }
+
+    public MediatorBuilder useExecutor(Class<?> requestOrEventType, Executor executor) {
+        this.typeExecutors.put(Objects.requireNonNull(requestOrEventType), Objects.requireNonNull(executor));
+        return this;
+    }
+
+    public MediatorBuilder useBulkhead(Class<?> requestOrEventType, int maxConcurrent, int maxQueued) {
+        return useBulkhead(requestOrEventType, maxConcurrent, maxQueued, RejectionPolicy.FAIL_FAST);
+    }
+
+    public MediatorBuilder useBulkhead(
+            Class<?> requestOrEventType, int maxConcurrent, int maxQueued, RejectionPolicy rejectionPolicy) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("Bulkhead concurrency must be positive");
+        }
+
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("Bulkhead queue size must not be negative");
+        }
+
+        if (rejectionPolicy == RejectionPolicy.DROP_OLDEST && !Event.class.isAssignableFrom(requestOrEventType)) {
+            throw new IllegalArgumentException("Dropping the oldest work is only supported for events");
+        }
+
+        this.bulkheads.put(
+                Objects.requireNonNull(requestOrEventType),
+                new Bulkhead.Limits(maxConcurrent, maxQueued, Objects.requireNonNull(rejectionPolicy)));
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <TEvent extends Event> MediatorBuilder useOrderedDispatch(
+            Class<TEvent> eventType, Function<? super TEvent, ?> partitionKey) {
+        Objects.requireNonNull(partitionKey);
+        this.partitionKeys.put(Objects.requireNonNull(eventType), event -> partitionKey.apply((TEvent)event));
+        return this;
+    }
+
+    public MediatorBuilder useOrderedDispatchLanes(int lanes) {
+        if (lanes <= 0) {
+            throw new IllegalArgumentException("Lane count must be positive");
+        }
+
+        this.orderedLanes = lanes;
+        return this;
+    }
+
+    /*
+     * The wait strategy decides what an idle consumer does. BUSY_SPIN never gives up its core, so an idle mediator
+     * keeps one core per consumer fully busy; it only pays off when every consumer has a core to itself. YIELD spins
+     * and then yields, and PARK backs off further to sleeps of up to a millisecond.
+     */
+    public MediatorBuilder useRingBuffer(int capacity, int consumers, WaitStrategy waitStrategy) {
+        if (capacity <= 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Ring buffer capacity is out of range");
+        }
+
+        if (consumers <= 0) {
+            throw new IllegalArgumentException("Ring buffer consumer count must be positive");
+        }
+
+        this.ringBufferCapacity = capacity;
+        this.ringBufferConsumers = consumers;
+        this.ringBufferWaitStrategy = Objects.requireNonNull(waitStrategy);
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    public MediatorBuilder useTransport(Class<?> requestOrEventType, Transport transport) {
+        Objects.requireNonNull(transport);
+
+        if (Event.class.isAssignableFrom(requestOrEventType)) {
+            this.registrations = this.registrations.withEventHandler((Class<Event>)requestOrEventType, event -> {
+                CompletableFuture<Void> published = transport.publish(event);
+
+                if (!DeferredDeliveries.defer(published)) {
+                    RequestPipeline.join(published);
+                }
+            });
+        } else if (Request.class.isAssignableFrom(requestOrEventType)) {
+            this.registrations = this.registrations.withAsyncHandler(
+                    (Class<Request<Object>>)requestOrEventType, transport::send);
+        } else {
+            throw new IllegalArgumentException("Only requests and events can be sent over a transport");
+        }
+
+        return this;
+    }
+
+    public MediatorBuilder useShutdownTimeout(Duration shutdownTimeout) {
+        if (shutdownTimeout.isNegative()) {
+            throw new IllegalArgumentException("Shutdown timeout must not be negative");
+        }
+
+        this.shutdownTimeout = shutdownTimeout;
+        return this;
+    }
+
+    public MediatorBuilder useQueryCoalescing(Class<? extends Query<?>> queryType) {
+        this.coalescedQueries.add(Objects.requireNonNull(queryType));
+        return this;
+    }
+
+    public MediatorBuilder useTimeout(Class<?> requestType, Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+
+        this.timeouts.put(Objects.requireNonNull(requestType), timeout);
+        return this;
+    }
+
+    public MediatorBuilder useHedging(Class<? extends Query<?>> queryType, double percentile, Duration minimumDelay) {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1");
+        }
+
+        if (minimumDelay.isNegative()) {
+            throw new IllegalArgumentException("Hedging delay must not be negative");
+        }
+
+        this.hedgedQueries.put(Objects.requireNonNull(queryType), new QueryHedger.Settings(percentile, minimumDelay));
+        return this;
+    }
+
+    public MediatorBuilder useQueryCache(Class<? extends Query<?>> queryType, Duration timeToLive) {
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive");
+        }
+
+        this.cachedQueries.put(Objects.requireNonNull(queryType), timeToLive);
+        return this;
+    }
+
+    public MediatorBuilder useQueryCacheCapacity(long maximumEntries) {
+        return useQueryCacheCapacity(maximumEntries, (_, _) -> 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    public MediatorBuilder useQueryCacheCapacity(long maximumWeight, ToLongBiFunction<Query<?>, Object> weigher) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Query cache capacity must be positive");
+        }
+
+        this.queryCacheWeight = maximumWeight;
+        this.queryCacheWeigher = (query, result) -> weigher.applyAsLong((Query<?>)query, result);
+        return this;
+    }
+
+    public MediatorBuilder invalidateQueryCacheOnCommand(
+            Class<? extends ResultCommand<?>> commandType, Class<? extends Query<?>> queryType) {
+        this.commandInvalidations.computeIfAbsent(Objects.requireNonNull(commandType), _ -> new HashSet<>())
+                .add(Objects.requireNonNull(queryType));
+        return this;
+    }
+
+    public MediatorBuilder invalidateQueryCacheOnEvent(
+            Class<? extends Event> eventType, Class<? extends Query<?>> queryType) {
+        this.eventInvalidations.computeIfAbsent(Objects.requireNonNull(eventType), _ -> new HashSet<>())
+                .add(Objects.requireNonNull(queryType));
+        return this;
+    }
+
+    public MediatorBuilder useMetrics() {
+        this.metrics = true;
+        return this;
+    }
+
+    public MediatorBuilder useBehaviorMetrics() {
+        this.metrics = true;
+        this.behaviorMetrics = true;
+        return this;
+    }
+
+    public MediatorBuilder useJmxMetrics(String mediatorName) {
+        this.metrics = true;
+        this.jmxName = Objects.requireNonNull(mediatorName);
+        return this;
+    }
+
+    public MediatorBuilder useEventJournal(Path directory, EventSerializer serializer) {
+        return useEventJournal(directory, serializer, EventJournal.DEFAULT_SEGMENT_BYTES);
+    }
+
+    public MediatorBuilder useEventJournal(Path directory, EventSerializer serializer, long segmentBytes) {
+        if (segmentBytes <= 0 || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Journal segment size is out of range");
+        }
+
+        this.journalDirectory = Objects.requireNonNull(directory);
+        this.journalSerializer = Objects.requireNonNull(serializer);
+        this.journalSegmentBytes = segmentBytes;
+        return this;
+    }
+
+    public Mediator build() {
+        Map<Class<?>, Executor> typeExecutors = new LinkedHashMap<>(this.typeExecutors);
+        Map<Class<?>, Bulkhead.Limits> bulkheads = new LinkedHashMap<>(this.bulkheads);
+        AsyncDispatcher dispatcher;
+
+        if (this.executor != null) {
+            dispatcher = AsyncDispatcher.external(this.executor, typeExecutors, bulkheads, this.shutdownTimeout);
+        } else if (this.virtualThreads) {
+            dispatcher = AsyncDispatcher.virtualThreads(typeExecutors, bulkheads, this.shutdownTimeout);
+        } else {
+            dispatcher = AsyncDispatcher.cachedThreadPool(typeExecutors, bulkheads, this.shutdownTimeout);
+        }
+
+        var cache = new QueryCache(
+                this.cachedQueries,
+                this.commandInvalidations,
+                this.eventInvalidations,
+                this.queryCacheWeight,
+                this.queryCacheWeigher,
+                System::nanoTime);
+
+        return new MediatorImpl(
+                this.registrations,
+                dispatcher,
+                new OrderedLanes(this.partitionKeys, this.orderedLanes),
+                new QueryCoalescer(this.coalescedQueries),
+                cache,
+                new RequestTimeouts(new LinkedHashMap<>(this.timeouts)),
+                new QueryHedger(this.hedgedQueries),
+                new DispatchMetrics(this.metrics, this.behaviorMetrics, this.jmxName),
+                this.journalDirectory != null
+                        ? new EventJournal(this.journalDirectory, this.journalSerializer, this.journalSegmentBytes)
+                        : null,
+                this.ringBufferWaitStrategy != null
+                        ? new EventRingBuffer(
+                                this.ringBufferCapacity,
+                                this.ringBufferConsumers,
+                                this.ringBufferWaitStrategy,
+                                this.shutdownTimeout)
+                        : null);
+    }
+}
\ No newline at end of file
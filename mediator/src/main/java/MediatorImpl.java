@@ -0,0 +1,584 @@
+import abstractions.BulkheadStats;
+import abstractions.DispatchStats;
+import abstractions.HandlerLifetime;
+import abstractions.Mediator;
+import abstractions.MediatorMetrics;
+import abstractions.behaviors.AsyncRequestPipelineBehavior;
+import abstractions.behaviors.EventPipelineBehavior;
+import abstractions.behaviors.RequestPipelineBehavior;
+import abstractions.behaviors.StreamPipelineBehavior;
+import abstractions.commands.BatchRequestHandler;
+import abstractions.commands.ResultCommand;
+import abstractions.events.BatchEventHandler;
+import abstractions.events.Event;
+import abstractions.events.EventHandler;
+import abstractions.queries.LazyStreamQueryHandler;
+import abstractions.queries.Query;
+import abstractions.queries.StreamQuery;
+import abstractions.queries.StreamQueryHandler;
+import abstractions.requests.AsyncRequestHandler;
+import abstractions.requests.Request;
+import abstractions.requests.RequestHandler;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+class MediatorImpl implements Mediator {
+    private final Object reconfigurationLock;
+    private final AsyncDispatcher dispatcher;
+    private final OrderedLanes lanes;
+    private final QueryCoalescer coalescer;
+    private final QueryCache cache;
+    private final RequestTimeouts timeouts;
+    private final QueryHedger hedger;
+    private final DispatchMetrics dispatchMetrics;
+    private final EventJournal journal;
+    private final EventRingBuffer ringBuffer;
+    private final EventBatchers batchers;
+    private final List<RequestPipelineStage> requestStages;
+    private final List<EventPipelineStage> eventStages;
+    private final MediatorMetrics metrics;
+    private volatile Snapshot snapshot;
+
+    public MediatorImpl() {
+        this(
+                Registrations.EMPTY,
+                AsyncDispatcher.cachedThreadPool(Map.of(), Map.of(), AsyncDispatcher.DEFAULT_SHUTDOWN_TIMEOUT),
+                OrderedLanes.disabled(),
+                new QueryCoalescer(Set.of()),
+                QueryCache.disabled(),
+                RequestTimeouts.disabled(),
+                QueryHedger.disabled(),
+                DispatchMetrics.disabled(),
+                null,
+                null);
+    }
+
+    MediatorImpl(
+            Registrations registrations,
+            AsyncDispatcher dispatcher,
+            OrderedLanes lanes,
+            QueryCoalescer coalescer,
+            QueryCache cache,
+            RequestTimeouts timeouts,
+            QueryHedger hedger,
+            DispatchMetrics dispatchMetrics,
+            EventJournal journal,
+            EventRingBuffer ringBuffer) {
+        this.reconfigurationLock = new Object();
+        this.dispatcher = dispatcher;
+        this.lanes = lanes;
+        this.coalescer = coalescer;
+        this.cache = cache;
+        this.timeouts = timeouts;
+        this.hedger = hedger;
+        this.dispatchMetrics = dispatchMetrics;
+        this.journal = journal;
+        this.ringBuffer = ringBuffer;
+        this.batchers = new EventBatchers(dispatcher);
+        this.requestStages = List.of(coalescer, cache, dispatchMetrics);
+        this.eventStages = List.of(dispatchMetrics, cache);
+        this.metrics = new Metrics();
+        this.snapshot = compile(registrations);
+
+        if (journal != null) {
+            replay(journal.recovered());
+        }
+    }
+
+    @Override
+    public <TRequest extends Request<TResponse>, TResponse> void registerHandler(
+            Class<TRequest> requestType, RequestHandler<TRequest, TResponse> requestHandler) {
+        reconfigure(registrations -> registrations.withHandler(requestType, requestHandler));
+    }
+
+    @Override
+    public <TRequest extends Request<TResponse>, TResponse> void registerHandler(
+            Class<TRequest> requestType,
+            Supplier<? extends RequestHandler<TRequest, TResponse>> handlerFactory,
+            HandlerLifetime lifetime) {
+        reconfigure(registrations -> registrations.withHandler(requestType, handlerFactory, lifetime));
+    }
+
+    @Override
+    public <TRequest extends Request<TResponse>, TResponse> void registerAsyncHandler(
+            Class<TRequest> requestType, AsyncRequestHandler<TRequest, TResponse> requestHandler) {
+        reconfigure(registrations -> registrations.withAsyncHandler(requestType, requestHandler));
+    }
+
+    @Override
+    public <TEvent extends Event> void registerEventHandler(Class<TEvent> eventType, EventHandler<TEvent> eventHandler) {
+        reconfigure(registrations -> registrations.withEventHandler(eventType, eventHandler));
+    }
+
+    @Override
+    public <TEvent extends Event> void registerEventHandler(
+            Class<TEvent> eventType,
+            Supplier<? extends EventHandler<TEvent>> handlerFactory,
+            HandlerLifetime lifetime) {
+        reconfigure(registrations -> registrations.withEventHandler(eventType, handlerFactory, lifetime));
+    }
+
+    @Override
+    public <TEvent extends Event> void registerEventHandler(
+            Class<TEvent> eventType, BatchEventHandler<TEvent> eventHandler, int maxBatchSize, Duration maxLinger) {
+        reconfigure(registrations ->
+                registrations.withBatchEventHandler(eventType, eventHandler, maxBatchSize, maxLinger));
+    }
+
+    @Override
+    public <TCommand extends ResultCommand<TResponse>, TResponse> void registerBatchHandler(
+            Class<TCommand> commandType, BatchRequestHandler<TCommand, TResponse> batchHandler) {
+        reconfigure(registrations -> registrations.withBatchHandler(commandType, batchHandler));
+    }
+
+    @Override
+    public <TQuery extends StreamQuery<TItem>, TItem> void registerStreamHandler(
+            Class<TQuery> queryType, StreamQueryHandler<TQuery, TItem> queryHandler) {
+        reconfigure(registrations -> registrations.withStreamHandler(queryType, queryHandler));
+    }
+
+    @Override
+    public <TQuery extends StreamQuery<TItem>, TItem> void registerLazyStreamHandler(
+            Class<TQuery> queryType, LazyStreamQueryHandler<TQuery, TItem> queryHandler) {
+        reconfigure(registrations -> registrations.withLazyStreamHandler(queryType, queryHandler));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <TRequest extends Request<TResponse>, TResponse> TResponse send(TRequest request) {
+        var pipeline = (RequestHandler<TRequest, TResponse>)resolveRequestPipeline(request).sync();
+        return pipeline.handle(request);
+    }
+
+    @Override
+    public <TRequest extends Request<TResponse>, TResponse> CompletableFuture<TResponse> sendAsync(TRequest request) {
+        return dispatchAsync(request, this.timeouts.timeoutFor(request.getClass()));
+    }
+
+    @Override
+    public <TRequest extends Request<TResponse>, TResponse> CompletableFuture<TResponse> sendAsync(
+            TRequest request, Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+
+        return dispatchAsync(request, timeout);
+    }
+
+    @Override
+    public <TCommand extends ResultCommand<TResponse>, TResponse> List<TResponse> sendAll(
+            Collection<TCommand> commands) {
+        return RequestPipeline.join(dispatchAll(commands, false));
+    }
+
+    @Override
+    public <TCommand extends ResultCommand<TResponse>, TResponse> CompletableFuture<List<TResponse>> sendAllAsync(
+            Collection<TCommand> commands) {
+        return dispatchAll(commands, true);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <TQuery extends StreamQuery<TItem>, TItem> Flow.Publisher<TItem> stream(TQuery query) {
+        var pipeline = (StreamQueryHandler<TQuery, TItem>)this.snapshot.streamPipelines.get(query.getClass());
+
+        if (pipeline == null) {
+            throw new IllegalArgumentException("No handler registered");
+        }
+
+        return pipeline.handle(query);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <TEvent extends Event> void publish(TEvent event) {
+        EventHandler<?>[] pipelines = this.snapshot.eventPipelines.get(event.getClass());
+
+        for (var pipeline : pipelines) {
+            ((EventHandler<TEvent>)pipeline).handle(event);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <TEvent extends Event> CompletableFuture<Void> publishAsync(TEvent event) {
+        EventHandler<?>[] pipelines = this.snapshot.eventPipelines.get(event.getClass());
+
+        if (pipelines.length == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (this.journal == null) {
+            return dispatchAsync(event, pipelines);
+        }
+
+        return this.journal.append(event).thenCompose(entry -> dispatchAsync(event, pipelines, entry));
+    }
+
+    @Override
+    public <TEvent extends Event> void publishFireAndForget(TEvent event) {
+        if (this.ringBuffer == null || this.lanes.isOrdered(event.getClass())) {
+            publishAsync(event);
+            return;
+        }
+
+        EventHandler<?>[] pipelines = this.snapshot.eventPipelines.get(event.getClass());
+
+        if (pipelines.length > 0) {
+            this.ringBuffer.publish(event, pipelines);
+        }
+    }
+
+    @Override
+    public <TRequest extends Request<TResponse>, TResponse> void registerRequestPipelineBehavior(
+            RequestPipelineBehavior<TRequest, TResponse> behavior) {
+        reconfigure(registrations -> registrations.withRequestBehavior(behavior));
+    }
+
+    @Override
+    public <TRequest extends Request<TResponse>, TResponse> void registerAsyncRequestPipelineBehavior(
+            AsyncRequestPipelineBehavior<TRequest, TResponse> behavior) {
+        reconfigure(registrations -> registrations.withAsyncRequestBehavior(behavior));
+    }
+
+    @Override
+    public <TEvent extends Event> void registerEventPipelineBehavior(EventPipelineBehavior<TEvent> behavior) {
+        reconfigure(registrations -> registrations.withEventBehavior(behavior));
+    }
+
+    @Override
+    public <TQuery extends StreamQuery<TItem>, TItem> void registerStreamPipelineBehavior(
+            StreamPipelineBehavior<TQuery, TItem> behavior) {
+        reconfigure(registrations -> registrations.withStreamBehavior(behavior));
+    }
+
+    @Override
+    public MediatorMetrics metrics() {
+        return this.metrics;
+    }
+
+    @Override
+    public void close() {
+        if (this.ringBuffer != null) {
+            this.ringBuffer.close();
+        }
+
+        this.batchers.close();
+        this.dispatcher.close();
+
+        if (this.journal != null) {
+            this.journal.close();
+        }
+
+        this.dispatchMetrics.close();
+    }
+
+    private <TRequest extends Request<TResponse>, TResponse> CompletableFuture<TResponse> dispatchAsync(
+            TRequest request, Duration timeout) {
+        Class<?> requestClass = request.getClass();
+        CompletableFuture<TResponse> future = this.hedger.send(
+                requestClass, this.dispatcher.executorFor(requestClass), () -> attempt(request));
+
+        return timeout.isZero() ? future : future.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <TRequest extends Request<TResponse>, TResponse> CompletableFuture<TResponse> attempt(TRequest request) {
+        var cancellation = new CallCancellation();
+        CompletableFuture<TResponse> future = this.dispatcher.track(
+                request.getClass(),
+                () -> cancellation.enter(() -> {
+                    var pipeline = (AsyncRequestHandler<TRequest, TResponse>)resolveRequestPipeline(request).async();
+                    return pipeline.handle(request);
+                }),
+                () -> cancellation.enter(() -> {
+                    var pipeline = (RequestHandler<TRequest, TResponse>)resolveRequestPipeline(request).sync();
+                    return CompletableFuture.completedFuture(pipeline.handle(request));
+                }));
+
+        future.whenComplete((_, error) -> {
+            if (error != null) {
+                cancellation.cancel();
+            }
+        });
+        return future;
+    }
+
+    /*
+     * Commands whose type has a batch handler are grouped by type and handed to it once per group; the rest are sent
+     * one by one in parallel. Results are put back in the order of the commands, and when several commands fail the
+     * first failure is reported with the later ones suppressed.
+     */
+    @SuppressWarnings("unchecked")
+    private <TCommand extends ResultCommand<TResponse>, TResponse> CompletableFuture<List<TResponse>> dispatchAll(
+            Collection<TCommand> commands, boolean async) {
+        List<TCommand> items = List.copyOf(commands);
+        Map<Class<?>, RequestPipeline> batchPipelines = this.snapshot.batchPipelines;
+        var results = (CompletableFuture<TResponse>[])new CompletableFuture<?>[items.size()];
+        Map<Class<?>, List<Integer>> batches = new LinkedHashMap<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            Class<?> commandClass = items.get(i).getClass();
+
+            if (batchPipelines.containsKey(commandClass)) {
+                batches.computeIfAbsent(commandClass, _ -> new ArrayList<>()).add(i);
+            } else {
+                results[i] = sendAsync(items.get(i));
+            }
+        }
+
+        batches.forEach((commandClass, indexes) -> {
+            List<TCommand> batch = indexes.stream().map(items::get).toList();
+            CompletableFuture<List<TResponse>> responses =
+                    dispatchBatch(commandClass, batchPipelines.get(commandClass), batch, async);
+
+            for (int j = 0; j < indexes.size(); j++) {
+                int position = j;
+                results[indexes.get(j)] = responses.thenApply(list -> list.get(position));
+            }
+        });
+
+        return CompletableFuture.allOf(results).handle((_, _) -> collect(results));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <TCommand extends ResultCommand<TResponse>, TResponse> CompletableFuture<List<TResponse>> dispatchBatch(
+            Class<?> commandClass, RequestPipeline pipeline, List<TCommand> commands, boolean async) {
+        var batch = new CommandBatch<TCommand, TResponse>(commands);
+        CompletableFuture<List<TResponse>> responses;
+
+        if (async) {
+            var handler = (AsyncRequestHandler<CommandBatch<TCommand, TResponse>, List<TResponse>>)pipeline.async();
+            responses = this.dispatcher.track(commandClass, () -> handler.handle(batch), () -> {
+                var sync = (RequestHandler<CommandBatch<TCommand, TResponse>, List<TResponse>>)pipeline.sync();
+                return CompletableFuture.completedFuture(sync.handle(batch));
+            });
+        } else {
+            try {
+                var handler = (RequestHandler<CommandBatch<TCommand, TResponse>, List<TResponse>>)pipeline.sync();
+                responses = CompletableFuture.completedFuture(handler.handle(batch));
+            } catch (RuntimeException ex) {
+                responses = CompletableFuture.failedFuture(ex);
+            }
+        }
+
+        return responses.thenApply(list -> {
+            if (list.size() != commands.size()) {
+                throw new IllegalStateException(
+                        "Batch handler returned " + list.size() + " results for " + commands.size() + " commands");
+            }
+
+            return list;
+        });
+    }
+
+    private static <TResponse> List<TResponse> collect(CompletableFuture<TResponse>[] results) {
+        List<TResponse> responses = new ArrayList<>(results.length);
+        RuntimeException failure = null;
+
+        for (var result : results) {
+            try {
+                responses.add(RequestPipeline.join(result));
+            } catch (RuntimeException ex) {
+                if (failure == null) {
+                    failure = ex;
+                } else if (failure != ex && !Arrays.asList(failure.getSuppressed()).contains(ex)) {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+
+        return responses;
+    }
+
+    /*
+     * Handlers that only buffer the event for a batch or pass it on to a transport return before it is delivered, so
+     * each task hands back the deliveries its handlers deferred and the returned future waits for those as well.
+     */
+    @SuppressWarnings("unchecked")
+    private <TEvent extends Event> CompletableFuture<Void> dispatchAsync(TEvent event, EventHandler<?>[] pipelines) {
+        if (this.lanes.isOrdered(event.getClass())) {
+            var deferred = new AtomicReference<CompletableFuture<Void>>();
+            Supplier<CompletableFuture<Void>> ordered = () -> this.lanes.submit(
+                    event,
+                    this.dispatcher.executorFor(event.getClass()),
+                    () -> deferred.set(DeferredDeliveries.collect(() -> handleInOrder(event, pipelines))));
+            return this.dispatcher.track(event.getClass(), ordered, ordered).thenCompose(_ -> deferred.get());
+        }
+
+        var futures = new CompletableFuture<?>[pipelines.length];
+
+        for (int i = 0; i < pipelines.length; i++) {
+            var pipeline = (EventHandler<TEvent>)pipelines[i];
+            var deferred = new AtomicReference<CompletableFuture<Void>>();
+            Runnable handle = () -> pipeline.handle(event);
+            futures[i] = this.dispatcher
+                    .runAsync(event.getClass(), () -> deferred.set(DeferredDeliveries.collect(handle)))
+                    .thenCompose(_ -> deferred.get());
+        }
+
+        return CompletableFuture.allOf(futures);
+    }
+
+    private CompletableFuture<Void> dispatchAsync(Event event, EventHandler<?>[] pipelines, EventJournal.Entry entry) {
+        return dispatchAsync(event, pipelines).thenRun(entry::delivered);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <TEvent extends Event> void handleInOrder(TEvent event, EventHandler<?>[] pipelines) {
+        RuntimeException failure = null;
+
+        for (var pipeline : pipelines) {
+            try {
+                ((EventHandler<TEvent>)pipeline).handle(event);
+            } catch (RuntimeException ex) {
+                if (failure == null) {
+                    failure = ex;
+                } else {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void replay(List<EventJournal.Entry> entries) {
+        var replayed = new CompletableFuture<?>[entries.size()];
+
+        for (int i = 0; i < replayed.length; i++) {
+            EventJournal.Entry entry = entries.get(i);
+            EventHandler<?>[] pipelines = this.snapshot.eventPipelines.get(entry.event().getClass());
+            replayed[i] = dispatchAsync(entry.event(), pipelines, entry);
+        }
+
+        CompletableFuture.allOf(replayed).exceptionally(_ -> null).join();
+    }
+
+    private RequestPipeline resolveRequestPipeline(Request<?> request) {
+        RequestPipeline pipeline = this.snapshot.requestPipelines.get(request.getClass());
+
+        if (pipeline == null) {
+            if (request instanceof ResultCommand || request instanceof Query) {
+                throw new IllegalArgumentException("No handler registered");
+            }
+
+            throw new RuntimeException("Unknown request type");
+        }
+
+        return pipeline;
+    }
+
+    private void reconfigure(UnaryOperator<Registrations> change) {
+        synchronized (this.reconfigurationLock) {
+            this.snapshot = compile(change.apply(this.snapshot.registrations));
+        }
+    }
+
+    private Snapshot compile(Registrations registrations) {
+        return new Snapshot(
+                registrations,
+                registrations.compileRequestPipelines(this.dispatcher, this.dispatchMetrics, this.requestStages),
+                registrations.compileBatchPipelines(this.dispatcher, this.dispatchMetrics),
+                registrations.compileStreamPipelines(),
+                this.eventStages,
+                this.batchers);
+    }
+
+    private static final class Snapshot {
+        private final Registrations registrations;
+        private final Map<Class<?>, RequestPipeline> requestPipelines;
+        private final Map<Class<?>, RequestPipeline> batchPipelines;
+        private final Map<Class<?>, StreamQueryHandler<?, ?>> streamPipelines;
+        private final ClassValue<EventHandler<?>[]> eventPipelines;
+
+        private Snapshot(
+                Registrations registrations,
+                Map<Class<?>, RequestPipeline> requestPipelines,
+                Map<Class<?>, RequestPipeline> batchPipelines,
+                Map<Class<?>, StreamQueryHandler<?, ?>> streamPipelines,
+                List<EventPipelineStage> eventStages,
+                EventBatchers batchers) {
+            this.registrations = registrations;
+            this.requestPipelines = requestPipelines;
+            this.batchPipelines = batchPipelines;
+            this.streamPipelines = streamPipelines;
+            this.eventPipelines = new ClassValue<>() {
+                @Override
+                protected EventHandler<?>[] computeValue(Class<?> eventClass) {
+                    return registrations.compileEventPipelines(eventClass, eventStages, batchers);
+                }
+            };
+        }
+    }
+
+    private final class Metrics implements MediatorMetrics {
+        @Override
+        public long coalescedCalls(Class<?> queryType) {
+            return coalescer.coalescedCalls(queryType);
+        }
+
+        @Override
+        public long coalescedCalls() {
+            return coalescer.coalescedCalls();
+        }
+
+        @Override
+        public long queryCacheHits() {
+            return cache.hits();
+        }
+
+        @Override
+        public long queryCacheMisses() {
+            return cache.misses();
+        }
+
+        @Override
+        public long queryCacheEvictions() {
+            return cache.evictions();
+        }
+
+        @Override
+        public long queryCacheWeight() {
+            return cache.weight();
+        }
+
+        @Override
+        public DispatchStats requestStats(Class<?> requestType) {
+            return dispatchMetrics.requestStats(requestType);
+        }
+
+        @Override
+        public DispatchStats eventStats(Class<?> eventType) {
+            return dispatchMetrics.eventStats(eventType);
+        }
+
+        @Override
+        public DispatchStats behaviorStats(Class<?> behaviorType) {
+            return dispatchMetrics.behaviorStats(behaviorType);
+        }
+
+        @Override
+        public BulkheadStats bulkheadStats(Class<?> requestOrEventType) {
+            return dispatcher.bulkheadStats(requestOrEventType);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/*
+ * One selector thread shared by all connections of a TCP transport client or server. Channel state is only touched
+ * on this thread; other threads hand work to it through execute, which wakes the selector up. A handler or task that
+ * throws is logged and, for a handler, closed, so one broken connection cannot take the others down with the loop.
+ *
+ * Tasks still queued when the loop stops are run before its handlers are closed. A task handed over after that final
+ * drain is refused: execute returns false, so the caller can fail whatever was waiting for it.
+ */
+final class NioLoop implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(NioLoop.class.getName());
+
+    private final Selector selector;
+    private final Queue<Runnable> tasks;
+    private final Thread thread;
+    private volatile boolean closed;
+    private volatile boolean stopped;
+
+    NioLoop(String name) {
+        try {
+            this.selector = Selector.open();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to open selector", ex);
+        }
+
+        this.tasks = new ConcurrentLinkedQueue<>();
+        this.thread = Thread.ofPlatform().name(name).daemon().start(this::run);
+    }
+
+    Selector selector() {
+        return this.selector;
+    }
+
+    boolean execute(Runnable task) {
+        this.tasks.add(task);
+
+        if (this.stopped) {
+            /* Either the final drain has taken the task after all or no one ever will. */
+            return !this.tasks.remove(task);
+        }
+
+        this.selector.wakeup();
+        return true;
+    }
+
+    boolean inLoop() {
+        return Thread.currentThread() == this.thread;
+    }
+
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+        this.selector.wakeup();
+
+        try {
+            this.thread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (!this.closed) {
+                this.selector.select();
+                runTasks();
+
+                for (var key : this.selector.selectedKeys()) {
+                    if (key.isValid()) {
+                        ready(key);
+                    }
+                }
+
+                this.selector.selectedKeys().clear();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            this.stopped = true;
+            runTasks();
+
+            for (var key : this.selector.keys()) {
+                close((Handler)key.attachment());
+            }
+
+            try {
+                this.selector.close();
+            } catch (IOException _) {
+            }
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+
+        while ((task = this.tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException | Error ex) {
+                LOGGER.log(Level.WARNING, "Transport task failed", ex);
+            }
+        }
+    }
+
+    private static void ready(SelectionKey key) {
+        var handler = (Handler)key.attachment();
+
+        try {
+            handler.ready(key);
+        } catch (RuntimeException | Error ex) {
+            LOGGER.log(Level.WARNING, "Transport connection failed", ex);
+            key.cancel();
+            close(handler);
+        }
+    }
+
+    private static void close(Handler handler) {
+        try {
+            handler.closed();
+        } catch (RuntimeException | Error ex) {
+            LOGGER.log(Level.WARNING, "Unable to close transport connection", ex);
+        }
+    }
+
+    interface Handler {
+        void ready(SelectionKey key);
+
+        void closed();
+    }
+}
\ No newline at end of file
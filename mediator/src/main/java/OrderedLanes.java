@@ -0,0 +1,109 @@
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+final class OrderedLanes {
+    private static final Function<Object, Object> UNORDERED = _ -> null;
+
+    private final ClassValue<Function<Object, Object>> partitionKeys;
+    private final Lane[] lanes;
+
+    OrderedLanes(Map<Class<?>, Function<Object, Object>> partitionKeys, int laneCount) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("Lane count must be positive");
+        }
+
+        var keys = Map.copyOf(partitionKeys);
+        this.partitionKeys = new ClassValue<>() {
+            @Override
+            protected Function<Object, Object> computeValue(Class<?> eventType) {
+                return AsyncDispatcher.resolve(keys, eventType, UNORDERED);
+            }
+        };
+        this.lanes = new Lane[laneCount];
+
+        for (int i = 0; i < laneCount; i++) {
+            this.lanes[i] = new Lane();
+        }
+    }
+
+    static OrderedLanes disabled() {
+        return new OrderedLanes(Map.of(), 1);
+    }
+
+    boolean isOrdered(Class<?> eventType) {
+        return this.partitionKeys.get(eventType) != UNORDERED;
+    }
+
+    CompletableFuture<Void> submit(Object event, Executor executor, Runnable task) {
+        Object key = this.partitionKeys.get(event.getClass()).apply(event);
+        int hash = key == null ? 0 : key.hashCode();
+        Lane lane = this.lanes[Math.floorMod(hash ^ (hash >>> 16), this.lanes.length)];
+        var future = new CompletableFuture<Void>();
+
+        lane.submit(() -> {
+            try {
+                task.run();
+                future.complete(null);
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            }
+        }, executor);
+        return future;
+    }
+
+    /*
+     * A single-consumer queue that is drained by at most one executor task at a time, which is what keeps the events
+     * of one lane in publication order without pinning a thread to every lane.
+     */
+    private static final class Lane {
+        private final Queue<Runnable> tasks;
+        private final AtomicBoolean draining;
+
+        private Lane() {
+            this.tasks = new ConcurrentLinkedQueue<>();
+            this.draining = new AtomicBoolean();
+        }
+
+        private void submit(Runnable task, Executor executor) {
+            this.tasks.add(task);
+
+            try {
+                schedule(executor);
+            } catch (RejectedExecutionException ex) {
+                this.tasks.remove(task);
+                throw ex;
+            }
+        }
+
+        private void schedule(Executor executor) {
+            if (this.draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(() -> drain(executor));
+                } catch (RejectedExecutionException ex) {
+                    this.draining.set(false);
+                    throw ex;
+                }
+            }
+        }
+
+        private void drain(Executor executor) {
+            Runnable task;
+
+            while ((task = this.tasks.poll()) != null) {
+                task.run();
+            }
+
+            this.draining.set(false);
+
+            if (!this.tasks.isEmpty()) {
+                schedule(executor);
+            }
+        }
+    }
+}
\ No newline at end of file
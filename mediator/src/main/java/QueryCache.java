@@ -0,0 +1,313 @@
+import abstractions.events.Event;
+import abstractions.events.EventHandler;
+import abstractions.requests.AsyncRequestHandler;
+import abstractions.requests.Request;
+import abstractions.requests.RequestHandler;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongBiFunction;
+
+final class QueryCache implements RequestPipelineStage, EventPipelineStage {
+    static final long DEFAULT_MAXIMUM_WEIGHT = 10_000;
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Map<Class<?>, Long> timeToLive;
+    private final Map<Class<?>, AtomicLong> generations;
+    private final Map<Class<?>, Set<Class<?>>> commandInvalidations;
+    private final Map<Class<?>, Set<Class<?>>> eventInvalidations;
+    private final ToLongBiFunction<Object, Object> weigher;
+    private final LongSupplier clock;
+    private final Segment[] segments;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    QueryCache(
+            Map<Class<?>, Duration> timeToLive,
+            Map<Class<?>, Set<Class<?>>> commandInvalidations,
+            Map<Class<?>, Set<Class<?>>> eventInvalidations,
+            long maximumWeight,
+            ToLongBiFunction<Object, Object> weigher,
+            LongSupplier clock) {
+        var ttl = new HashMap<Class<?>, Long>();
+        var generations = new HashMap<Class<?>, AtomicLong>();
+
+        timeToLive.forEach((queryType, duration) -> {
+            ttl.put(queryType, duration.toNanos());
+            generations.put(queryType, new AtomicLong());
+        });
+
+        this.timeToLive = Map.copyOf(ttl);
+        this.generations = Map.copyOf(generations);
+        this.commandInvalidations = Map.copyOf(commandInvalidations);
+        this.eventInvalidations = Map.copyOf(eventInvalidations);
+        this.weigher = weigher;
+        this.clock = clock;
+        this.segments = new Segment[segmentCount(maximumWeight)];
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+
+        long share = maximumWeight / this.segments.length;
+        long remainder = maximumWeight % this.segments.length;
+
+        for (int i = 0; i < this.segments.length; i++) {
+            this.segments[i] = new Segment(i < remainder ? share + 1 : share);
+        }
+    }
+
+    static QueryCache disabled() {
+        return new QueryCache(Map.of(), Map.of(), Map.of(), DEFAULT_MAXIMUM_WEIGHT, (_, _) -> 1, System::nanoTime);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public RequestPipeline apply(Class<?> requestClass, RequestPipeline pipeline) {
+        Long ttl = this.timeToLive.get(requestClass);
+
+        if (ttl != null) {
+            AtomicLong generation = this.generations.get(requestClass);
+
+            return new RequestPipeline(
+                    cache((RequestHandler<Request<Object>, Object>)pipeline.sync(), generation, ttl),
+                    cache((AsyncRequestHandler<Request<Object>, Object>)pipeline.async(), generation, ttl));
+        }
+
+        AtomicLong[] invalidated = resolveInvalidations(this.commandInvalidations, requestClass);
+
+        if (invalidated.length > 0) {
+            return new RequestPipeline(
+                    invalidate((RequestHandler<Request<Object>, Object>)pipeline.sync(), invalidated),
+                    invalidate((AsyncRequestHandler<Request<Object>, Object>)pipeline.async(), invalidated));
+        }
+
+        return pipeline;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public EventHandler<?>[] apply(Class<?> eventClass, EventHandler<?>[] pipelines) {
+        AtomicLong[] invalidated = resolveInvalidations(this.eventInvalidations, eventClass);
+
+        if (invalidated.length == 0) {
+            return pipelines;
+        }
+
+        if (pipelines.length == 0) {
+            return new EventHandler<?>[] { _ -> invalidate(invalidated) };
+        }
+
+        /* Like commands, an event invalidates once its handlers are done, so a query that ran mid-change is dropped. */
+        var wrapped = new EventHandler<?>[pipelines.length];
+
+        for (int i = 0; i < pipelines.length; i++) {
+            wrapped[i] = invalidate((EventHandler<Event>)pipelines[i], invalidated);
+        }
+
+        return wrapped;
+    }
+
+    long hits() {
+        return this.hits.sum();
+    }
+
+    long misses() {
+        return this.misses.sum();
+    }
+
+    long evictions() {
+        return this.evictions.sum();
+    }
+
+    long weight() {
+        long weight = 0;
+
+        for (var segment : this.segments) {
+            weight += segment.weight();
+        }
+
+        return weight;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <TRequest extends Request<TResponse>, TResponse> RequestHandler<TRequest, TResponse> cache(
+            RequestHandler<TRequest, TResponse> next, AtomicLong generation, long ttl) {
+        return request -> {
+            Entry entry = lookup(request, generation);
+
+            if (entry != null) {
+                return (TResponse)entry.value;
+            }
+
+            long expectedGeneration = generation.get();
+            TResponse response = next.handle(request);
+            store(request, response, generation, expectedGeneration, ttl);
+            return response;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private <TRequest extends Request<TResponse>, TResponse> AsyncRequestHandler<TRequest, TResponse> cache(
+            AsyncRequestHandler<TRequest, TResponse> next, AtomicLong generation, long ttl) {
+        return request -> {
+            Entry entry = lookup(request, generation);
+
+            if (entry != null) {
+                return CompletableFuture.completedFuture((TResponse)entry.value);
+            }
+
+            long expectedGeneration = generation.get();
+            return next.handle(request).thenApply(response -> {
+                store(request, response, generation, expectedGeneration, ttl);
+                return response;
+            });
+        };
+    }
+
+    private <TRequest extends Request<TResponse>, TResponse> RequestHandler<TRequest, TResponse> invalidate(
+            RequestHandler<TRequest, TResponse> next, AtomicLong[] invalidated) {
+        return request -> {
+            try {
+                return next.handle(request);
+            } finally {
+                invalidate(invalidated);
+            }
+        };
+    }
+
+    private <TRequest extends Request<TResponse>, TResponse> AsyncRequestHandler<TRequest, TResponse> invalidate(
+            AsyncRequestHandler<TRequest, TResponse> next, AtomicLong[] invalidated) {
+        return request -> {
+            try {
+                return next.handle(request).whenComplete((_, _) -> invalidate(invalidated));
+            } catch (RuntimeException ex) {
+                invalidate(invalidated);
+                throw ex;
+            }
+        };
+    }
+
+    private EventHandler<Event> invalidate(EventHandler<Event> next, AtomicLong[] invalidated) {
+        return event -> {
+            try {
+                next.handle(event);
+            } finally {
+                invalidate(invalidated);
+            }
+        };
+    }
+
+    private Entry lookup(Object query, AtomicLong generation) {
+        Segment segment = segmentFor(query);
+        Entry entry = segment.get(query);
+
+        if (entry != null) {
+            if (entry.generation == generation.get() && entry.expiresAt - this.clock.getAsLong() > 0) {
+                this.hits.increment();
+                return entry;
+            }
+
+            segment.remove(query, entry);
+        }
+
+        this.misses.increment();
+        return null;
+    }
+
+    private void store(Object query, Object value, AtomicLong generation, long expectedGeneration, long ttl) {
+        if (generation.get() != expectedGeneration) {
+            return;
+        }
+
+        long weight = this.weigher.applyAsLong(query, value);
+        segmentFor(query).put(query, new Entry(value, weight, expectedGeneration, this.clock.getAsLong() + ttl));
+    }
+
+    private static void invalidate(AtomicLong[] generations) {
+        for (var generation : generations) {
+            generation.incrementAndGet();
+        }
+    }
+
+    private AtomicLong[] resolveInvalidations(Map<Class<?>, Set<Class<?>>> invalidations, Class<?> type) {
+        Set<Class<?>> queryTypes = new LinkedHashSet<>();
+
+        invalidations.forEach((trigger, targets) -> {
+            if (trigger.isAssignableFrom(type)) {
+                queryTypes.addAll(targets);
+            }
+        });
+
+        return queryTypes.stream()
+                .map(this.generations::get)
+                .filter(generation -> generation != null)
+                .toArray(AtomicLong[]::new);
+    }
+
+    private Segment segmentFor(Object query) {
+        int hash = query.hashCode();
+        return this.segments[(hash ^ (hash >>> 16)) & (this.segments.length - 1)];
+    }
+
+    /*
+     * Every segment must be able to hold at least one entry, so small caches get fewer segments. The capacity is split
+     * between them exactly, which keeps the total weight within the configured maximum.
+     */
+    private static int segmentCount(long maximumWeight) {
+        return (int)Long.highestOneBit(Math.clamp(maximumWeight, 1, MAX_SEGMENTS));
+    }
+
+    private record Entry(Object value, long weight, long generation, long expiresAt) {}
+
+    private final class Segment {
+        private final LinkedHashMap<Object, Entry> entries;
+        private final long maximumWeight;
+        private long weight;
+
+        private Segment(long maximumWeight) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true);
+            this.maximumWeight = maximumWeight;
+        }
+
+        private synchronized Entry get(Object query) {
+            return this.entries.get(query);
+        }
+
+        private synchronized void put(Object query, Entry entry) {
+            Entry previous = this.entries.put(query, entry);
+
+            if (previous != null) {
+                this.weight -= previous.weight;
+            }
+
+            this.weight += entry.weight;
+            Iterator<Entry> eldest = this.entries.values().iterator();
+
+            while (this.weight > this.maximumWeight && eldest.hasNext()) {
+                this.weight -= eldest.next().weight;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+
+        private synchronized void remove(Object query, Entry entry) {
+            if (this.entries.remove(query, entry)) {
+                this.weight -= entry.weight;
+            }
+        }
+
+        private synchronized long weight() {
+            return this.weight;
+        }
+    }
+}
\ No newline at end of file
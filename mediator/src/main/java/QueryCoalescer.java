@@ -0,0 +1,99 @@
+import abstractions.requests.AsyncRequestHandler;
+import abstractions.requests.Request;
+import abstractions.requests.RequestHandler;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+final class QueryCoalescer implements RequestPipelineStage {
+    private final Map<Class<?>, LongAdder> coalescedCalls;
+    private final ConcurrentMap<Object, CompletableFuture<?>> inFlight;
+
+    QueryCoalescer(Set<Class<?>> queryTypes) {
+        this.coalescedCalls = queryTypes.stream().collect(Collectors.toUnmodifiableMap(type -> type, _ -> new LongAdder()));
+        this.inFlight = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public RequestPipeline apply(Class<?> requestClass, RequestPipeline pipeline) {
+        LongAdder counter = this.coalescedCalls.get(requestClass);
+
+        if (counter == null) {
+            return pipeline;
+        }
+
+        return new RequestPipeline(
+                coalesce((RequestHandler<Request<Object>, Object>)pipeline.sync(), counter),
+                coalesce((AsyncRequestHandler<Request<Object>, Object>)pipeline.async(), counter));
+    }
+
+    long coalescedCalls(Class<?> queryType) {
+        LongAdder counter = this.coalescedCalls.get(queryType);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    long coalescedCalls() {
+        return this.coalescedCalls.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <TRequest extends Request<TResponse>, TResponse> RequestHandler<TRequest, TResponse> coalesce(
+            RequestHandler<TRequest, TResponse> next, LongAdder counter) {
+        return request -> {
+            var leader = new CompletableFuture<TResponse>();
+            var existing = (CompletableFuture<TResponse>)this.inFlight.putIfAbsent(request, leader);
+
+            if (existing != null) {
+                counter.increment();
+                return RequestPipeline.join(existing);
+            }
+
+            try {
+                TResponse response = next.handle(request);
+                this.inFlight.remove(request, leader);
+                leader.complete(response);
+                return response;
+            } catch (Throwable ex) {
+                this.inFlight.remove(request, leader);
+                leader.completeExceptionally(ex);
+                throw ex;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private <TRequest extends Request<TResponse>, TResponse> AsyncRequestHandler<TRequest, TResponse> coalesce(
+            AsyncRequestHandler<TRequest, TResponse> next, LongAdder counter) {
+        return request -> {
+            var leader = new CompletableFuture<TResponse>();
+            var existing = (CompletableFuture<TResponse>)this.inFlight.putIfAbsent(request, leader);
+
+            if (existing != null) {
+                counter.increment();
+                return existing.copy();
+            }
+
+            try {
+                CallCancellation.detached(() -> next.handle(request)).whenComplete((response, error) -> {
+                    this.inFlight.remove(request, leader);
+
+                    if (error != null) {
+                        leader.completeExceptionally(error);
+                    } else {
+                        leader.complete(response);
+                    }
+                });
+            } catch (Throwable ex) {
+                this.inFlight.remove(request, leader);
+                leader.completeExceptionally(ex);
+            }
+
+            return leader.copy();
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+ * Hedged execution for idempotent queries. A second attempt starts once the first has been running for the
+ * configured latency percentile of earlier attempts of that query type (never sooner than the minimum delay), the
+ * first successful result wins and the losing attempt is cancelled. The call fails only when every started attempt
+ * has failed; a hedge is not started after the first attempt has already failed.
+ */
+final class QueryHedger {
+    private static final Policy UNHEDGED = new Policy(new Settings(0, Duration.ZERO));
+
+    private final ClassValue<Policy> policies;
+
+    QueryHedger(Map<Class<?>, Settings> settings) {
+        Map<Class<?>, Policy> policies = new LinkedHashMap<>();
+        settings.forEach((type, hedging) -> policies.put(type, new Policy(hedging)));
+        this.policies = new ClassValue<>() {
+            @Override
+            protected Policy computeValue(Class<?> type) {
+                return AsyncDispatcher.resolve(policies, type, UNHEDGED);
+            }
+        };
+    }
+
+    static QueryHedger disabled() {
+        return new QueryHedger(Map.of());
+    }
+
+    <T> CompletableFuture<T> send(Class<?> queryType, Executor executor, Supplier<CompletableFuture<T>> attempt) {
+        Policy policy = this.policies.get(queryType);
+
+        if (policy == UNHEDGED) {
+            return attempt.get();
+        }
+
+        var result = new CompletableFuture<T>();
+        var attempts = new CopyOnWriteArrayList<CompletableFuture<T>>();
+        var running = new AtomicInteger(1);
+
+        result.whenComplete((_, _) -> attempts.forEach(future -> future.cancel(true)));
+        start(policy, attempt, result, attempts, running);
+
+        CompletableFuture.delayedExecutor(policy.delayNanos(), TimeUnit.NANOSECONDS, executor).execute(() -> {
+            if (!result.isDone() && running.getAndUpdate(count -> count == 0 ? 0 : count + 1) > 0) {
+                start(policy, attempt, result, attempts, running);
+            }
+        });
+
+        return result;
+    }
+
+    private static <T> void start(
+            Policy policy,
+            Supplier<CompletableFuture<T>> attempt,
+            CompletableFuture<T> result,
+            CopyOnWriteArrayList<CompletableFuture<T>> attempts,
+            AtomicInteger running) {
+        long started = System.nanoTime();
+        CompletableFuture<T> future;
+
+        try {
+            future = attempt.get();
+        } catch (Throwable ex) {
+            future = CompletableFuture.failedFuture(ex);
+        }
+
+        attempts.add(future);
+
+        if (result.isDone()) {
+            future.cancel(true);
+        }
+
+        future.whenComplete((response, error) -> {
+            if (error == null) {
+                policy.latencies.record(System.nanoTime() - started);
+                result.complete(response);
+            } else if (running.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        });
+    }
+
+    record Settings(double percentile, Duration minimumDelay) {}
+
+    private static final class Policy {
+        private final Settings settings;
+        private final LatencyHistogram latencies;
+
+        private Policy(Settings settings) {
+            this.settings = settings;
+            this.latencies = new LatencyHistogram();
+        }
+
+        private long delayNanos() {
+            return Math.max(
+                    this.settings.minimumDelay().toNanos(), this.latencies.percentile(this.settings.percentile()));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,525 @@
+import abstractions.HandlerLifetime;
+import abstractions.behaviors.AsyncRequestPipelineBehavior;
+import abstractions.behaviors.EventPipelineBehavior;
+import abstractions.behaviors.RequestPipelineBehavior;
+import abstractions.behaviors.StreamPipelineBehavior;
+import abstractions.commands.BatchRequestHandler;
+import abstractions.commands.ResultCommand;
+import abstractions.events.BatchEvent;
+import abstractions.events.BatchEventHandler;
+import abstractions.events.Event;
+import abstractions.events.EventHandler;
+import abstractions.queries.LazyStreamQueryHandler;
+import abstractions.queries.Query;
+import abstractions.queries.StreamQuery;
+import abstractions.queries.StreamQueryHandler;
+import abstractions.requests.AsyncRequestHandler;
+import abstractions.requests.Request;
+import abstractions.requests.RequestHandler;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+final class Registrations {
+    static final Registrations EMPTY = new Registrations(
+            Map.of(),
+            Map.of(),
+            new RegisteredRequestBehavior[0],
+            new RegisteredEventHandler[0],
+            new RegisteredEventBehavior[0],
+            Map.of(),
+            new RegisteredStreamBehavior[0],
+            Map.of());
+
+    private final Map<Class<?>, RegisteredRequestHandler> commandHandlers;
+    private final Map<Class<?>, RegisteredRequestHandler> queryHandlers;
+    private final RegisteredRequestBehavior[] requestBehaviors;
+    private final RegisteredEventHandler[] eventHandlers;
+    private final RegisteredEventBehavior[] eventBehaviors;
+    private final Map<Class<?>, StreamQueryHandler<?, ?>> streamHandlers;
+    private final RegisteredStreamBehavior[] streamBehaviors;
+    private final Map<Class<?>, BatchRequestHandler<?, ?>> batchHandlers;
+
+    private Registrations(
+            Map<Class<?>, RegisteredRequestHandler> commandHandlers,
+            Map<Class<?>, RegisteredRequestHandler> queryHandlers,
+            RegisteredRequestBehavior[] requestBehaviors,
+            RegisteredEventHandler[] eventHandlers,
+            RegisteredEventBehavior[] eventBehaviors,
+            Map<Class<?>, StreamQueryHandler<?, ?>> streamHandlers,
+            RegisteredStreamBehavior[] streamBehaviors,
+            Map<Class<?>, BatchRequestHandler<?, ?>> batchHandlers) {
+        this.commandHandlers = commandHandlers;
+        this.queryHandlers = queryHandlers;
+        this.requestBehaviors = requestBehaviors;
+        this.eventHandlers = eventHandlers;
+        this.eventBehaviors = eventBehaviors;
+        this.streamHandlers = streamHandlers;
+        this.streamBehaviors = streamBehaviors;
+        this.batchHandlers = batchHandlers;
+    }
+
+    <TRequest extends Request<TResponse>, TResponse> Registrations withHandler(
+            Class<TRequest> requestType, RequestHandler<TRequest, TResponse> requestHandler) {
+        Objects.requireNonNull(requestHandler);
+        return withHandler(requestType, new RegisteredRequestHandler(requestHandler, null));
+    }
+
+    <TRequest extends Request<TResponse>, TResponse> Registrations withHandler(
+            Class<TRequest> requestType,
+            Supplier<? extends RequestHandler<TRequest, TResponse>> handlerFactory,
+            HandlerLifetime lifetime) {
+        return withHandler(requestType, HandlerLifetimes.requestHandler(handlerFactory, lifetime));
+    }
+
+    <TRequest extends Request<TResponse>, TResponse> Registrations withAsyncHandler(
+            Class<TRequest> requestType, AsyncRequestHandler<TRequest, TResponse> requestHandler) {
+        Objects.requireNonNull(requestHandler);
+        return withHandler(requestType, new RegisteredRequestHandler(null, requestHandler));
+    }
+
+    <TEvent extends Event> Registrations withEventHandler(Class<TEvent> eventType, EventHandler<TEvent> eventHandler) {
+        Objects.requireNonNull(eventType);
+        Objects.requireNonNull(eventHandler);
+
+        return withEventHandler(new RegisteredEventHandler(eventType, eventHandler, null));
+    }
+
+    <TEvent extends Event> Registrations withEventHandler(
+            Class<TEvent> eventType,
+            Supplier<? extends EventHandler<TEvent>> handlerFactory,
+            HandlerLifetime lifetime) {
+        return withEventHandler(eventType, HandlerLifetimes.eventHandler(handlerFactory, lifetime));
+    }
+
+    <TEvent extends Event> Registrations withBatchEventHandler(
+            Class<TEvent> eventType, BatchEventHandler<TEvent> eventHandler, int maxBatchSize, Duration maxLinger) {
+        Objects.requireNonNull(eventType);
+        Objects.requireNonNull(eventHandler);
+
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        if (maxLinger.isNegative() || maxLinger.isZero()) {
+            throw new IllegalArgumentException("Linger time must be positive");
+        }
+
+        for (var eb : this.eventBehaviors) {
+            checkBatchable(eventType, EventBatch.class, eb.eventClass);
+        }
+
+        var batch = new RegisteredBatch(eventHandler, maxBatchSize, maxLinger);
+        return withEventHandler(new RegisteredEventHandler(eventType, null, batch));
+    }
+
+    Registrations withRequestBehavior(RequestPipelineBehavior<?, ?> behavior) {
+        return withRequestBehavior(resolveTargetClass(behavior, RequestPipelineBehavior.class, Request.class), behavior);
+    }
+
+    Registrations withRequestBehavior(Class<?> requestType, RequestPipelineBehavior<?, ?> behavior) {
+        Objects.requireNonNull(behavior);
+
+        return withRequestBehavior(new RegisteredRequestBehavior(target(requestType, Request.class), behavior, null));
+    }
+
+    Registrations withAsyncRequestBehavior(AsyncRequestPipelineBehavior<?, ?> behavior) {
+        return withAsyncRequestBehavior(
+                resolveTargetClass(behavior, AsyncRequestPipelineBehavior.class, Request.class), behavior);
+    }
+
+    Registrations withAsyncRequestBehavior(Class<?> requestType, AsyncRequestPipelineBehavior<?, ?> behavior) {
+        Objects.requireNonNull(behavior);
+
+        return withRequestBehavior(new RegisteredRequestBehavior(target(requestType, Request.class), null, behavior));
+    }
+
+    Registrations withEventBehavior(EventPipelineBehavior<?> behavior) {
+        return withEventBehavior(resolveTargetClass(behavior, EventPipelineBehavior.class, Event.class), behavior);
+    }
+
+    Registrations withEventBehavior(Class<?> eventType, EventPipelineBehavior<?> behavior) {
+        Objects.requireNonNull(behavior);
+        Class<?> eventClass = target(eventType, Event.class);
+
+        for (var registered : this.eventHandlers) {
+            if (registered.batch != null) {
+                checkBatchable(registered.eventClass, EventBatch.class, eventClass);
+            }
+        }
+
+        return new Registrations(
+                this.commandHandlers,
+                this.queryHandlers,
+                this.requestBehaviors,
+                this.eventHandlers,
+                append(this.eventBehaviors, new RegisteredEventBehavior(eventClass, behavior)),
+                this.streamHandlers,
+                this.streamBehaviors,
+                this.batchHandlers);
+    }
+
+    <TCommand extends ResultCommand<TResponse>, TResponse> Registrations withBatchHandler(
+            Class<TCommand> commandType, BatchRequestHandler<TCommand, TResponse> batchHandler) {
+        Objects.requireNonNull(commandType);
+        Objects.requireNonNull(batchHandler);
+
+        for (var rb : this.requestBehaviors) {
+            checkBatchable(commandType, CommandBatch.class, rb.requestClass);
+        }
+
+        return new Registrations(
+                this.commandHandlers,
+                this.queryHandlers,
+                this.requestBehaviors,
+                this.eventHandlers,
+                this.eventBehaviors,
+                this.streamHandlers,
+                this.streamBehaviors,
+                withEntry(this.batchHandlers, commandType, batchHandler));
+    }
+
+    <TQuery extends StreamQuery<TItem>, TItem> Registrations withStreamHandler(
+            Class<TQuery> queryType, StreamQueryHandler<TQuery, TItem> queryHandler) {
+        Objects.requireNonNull(queryType);
+        Objects.requireNonNull(queryHandler);
+
+        return new Registrations(
+                this.commandHandlers,
+                this.queryHandlers,
+                this.requestBehaviors,
+                this.eventHandlers,
+                this.eventBehaviors,
+                withEntry(this.streamHandlers, queryType, queryHandler),
+                this.streamBehaviors,
+                this.batchHandlers);
+    }
+
+    <TQuery extends StreamQuery<TItem>, TItem> Registrations withLazyStreamHandler(
+            Class<TQuery> queryType, LazyStreamQueryHandler<TQuery, TItem> queryHandler) {
+        Objects.requireNonNull(queryHandler);
+        return withStreamHandler(queryType, query -> new StreamPublisher<>(() -> queryHandler.handle(query)));
+    }
+
+    Registrations withStreamBehavior(StreamPipelineBehavior<?, ?> behavior) {
+        return withStreamBehavior(
+                resolveTargetClass(behavior, StreamPipelineBehavior.class, StreamQuery.class), behavior);
+    }
+
+    Registrations withStreamBehavior(Class<?> queryType, StreamPipelineBehavior<?, ?> behavior) {
+        Objects.requireNonNull(behavior);
+
+        return new Registrations(
+                this.commandHandlers,
+                this.queryHandlers,
+                this.requestBehaviors,
+                this.eventHandlers,
+                this.eventBehaviors,
+                this.streamHandlers,
+                append(
+                        this.streamBehaviors,
+                        new RegisteredStreamBehavior(target(queryType, StreamQuery.class), behavior)),
+                this.batchHandlers);
+    }
+
+    Map<Class<?>, RequestPipeline> compileRequestPipelines(
+            AsyncDispatcher dispatcher, DispatchMetrics metrics, List<RequestPipelineStage> stages) {
+        var pipelines = new HashMap<Class<?>, RequestPipeline>();
+
+        for (var handlers : List.of(this.commandHandlers, this.queryHandlers)) {
+            handlers.forEach((requestClass, handler) -> {
+                RequestPipeline pipeline = buildRequestPipeline(
+                        requestClass, handler, dispatcher.executorFor(requestClass), metrics);
+
+                for (var stage : stages) {
+                    pipeline = stage.apply(requestClass, pipeline);
+                }
+
+                pipelines.put(requestClass, pipeline);
+            });
+        }
+
+        return Map.copyOf(pipelines);
+    }
+
+    @SuppressWarnings("unchecked")
+    EventHandler<?>[] compileEventPipelines(
+            Class<?> eventClass, List<EventPipelineStage> stages, EventBatchers batchers) {
+        List<EventHandler<?>> handlers = new ArrayList<>();
+
+        for (var registered : this.eventHandlers) {
+            if (!registered.eventClass.isAssignableFrom(eventClass)) {
+                continue;
+            }
+
+            if (registered.batch == null) {
+                handlers.add(buildEventPipelineChain(eventClass, (EventHandler<Event>)registered.handler));
+            } else {
+                /* Runs once per batch; behaviors for the batched event type are refused when they are registered. */
+                var batchHandler = (BatchEventHandler<Event>)registered.batch.handler;
+                EventHandler<BatchEvent<Event>> pipeline =
+                        buildEventPipelineChain(EventBatch.class, batch -> batchHandler.handle(batch.events()));
+                handlers.add(batchers.handlerFor(registered.eventClass, registered.batch, pipeline));
+            }
+        }
+
+        EventHandler<?>[] pipelines = handlers.toArray(EventHandler<?>[]::new);
+
+        for (var stage : stages) {
+            pipelines = stage.apply(eventClass, pipelines);
+        }
+
+        return pipelines;
+    }
+
+    /*
+     * A batch travels the request pipeline once as a CommandBatch, so it passes the behaviors registered for every
+     * request, for ResultCommand or for BatchCommand. Behaviors for the command type itself would expect a single
+     * command and its response, which a batch cannot give them, so registering both is refused up front.
+     */
+    @SuppressWarnings("unchecked")
+    Map<Class<?>, RequestPipeline> compileBatchPipelines(AsyncDispatcher dispatcher, DispatchMetrics metrics) {
+        var pipelines = new HashMap<Class<?>, RequestPipeline>();
+
+        this.batchHandlers.forEach((commandClass, handler) -> {
+            var typed = (BatchRequestHandler<ResultCommand<Object>, Object>)handler;
+            RequestHandler<CommandBatch<ResultCommand<Object>, Object>, List<Object>> batchHandler =
+                    batch -> typed.handle(batch.commands());
+            pipelines.put(
+                    commandClass,
+                    buildRequestPipeline(
+                            CommandBatch.class,
+                            new RegisteredRequestHandler(batchHandler, null),
+                            dispatcher.executorFor(commandClass),
+                            metrics));
+        });
+
+        return Map.copyOf(pipelines);
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<Class<?>, StreamQueryHandler<?, ?>> compileStreamPipelines() {
+        var pipelines = new HashMap<Class<?>, StreamQueryHandler<?, ?>>();
+
+        this.streamHandlers.forEach((queryClass, handler) -> {
+            var current = (StreamQueryHandler<StreamQuery<Object>, Object>)handler;
+
+            for (int i = this.streamBehaviors.length - 1; i >= 0; i--) {
+                RegisteredStreamBehavior sb = this.streamBehaviors[i];
+
+                if (sb.queryClass == null || sb.queryClass.isAssignableFrom(queryClass)) {
+                    current = wrapStreamHandler(sb.behavior, current);
+                }
+            }
+
+            pipelines.put(queryClass, current);
+        });
+
+        return Map.copyOf(pipelines);
+    }
+
+    private Registrations withEventHandler(RegisteredEventHandler eventHandler) {
+        return new Registrations(
+                this.commandHandlers,
+                this.queryHandlers,
+                this.requestBehaviors,
+                append(this.eventHandlers, eventHandler),
+                this.eventBehaviors,
+                this.streamHandlers,
+                this.streamBehaviors,
+                this.batchHandlers);
+    }
+
+    private Registrations withRequestBehavior(RegisteredRequestBehavior behavior) {
+        for (var commandClass : this.batchHandlers.keySet()) {
+            checkBatchable(commandClass, CommandBatch.class, behavior.requestClass);
+        }
+
+        return new Registrations(
+                this.commandHandlers,
+                this.queryHandlers,
+                append(this.requestBehaviors, behavior),
+                this.eventHandlers,
+                this.eventBehaviors,
+                this.streamHandlers,
+                this.streamBehaviors,
+                this.batchHandlers);
+    }
+
+    private Registrations withHandler(Class<?> requestType, RegisteredRequestHandler requestHandler) {
+        if (ResultCommand.class.isAssignableFrom(requestType)) {
+            return new Registrations(
+                    withEntry(this.commandHandlers, requestType, requestHandler),
+                    this.queryHandlers,
+                    this.requestBehaviors,
+                    this.eventHandlers,
+                    this.eventBehaviors,
+                    this.streamHandlers,
+                    this.streamBehaviors,
+                    this.batchHandlers);
+        }
+
+        if (Query.class.isAssignableFrom(requestType)) {
+            return new Registrations(
+                    this.commandHandlers,
+                    withEntry(this.queryHandlers, requestType, requestHandler),
+                    this.requestBehaviors,
+                    this.eventHandlers,
+                    this.eventBehaviors,
+                    this.streamHandlers,
+                    this.streamBehaviors,
+                    this.batchHandlers);
+        }
+
+        throw new RuntimeException("Unknown request type");
+    }
+
+    /*
+     * Builds the chain from the handler outwards. As long as everything below the current behavior is synchronous
+     * the chain stays a plain RequestHandler; the first asynchronous stage switches it to an AsyncRequestHandler.
+     * A synchronous stage above an asynchronous one has to wait for it, so it becomes synchronous again and is
+     * moved onto the executor when the chain is entered asynchronously.
+     */
+    @SuppressWarnings("unchecked")
+    private RequestPipeline buildRequestPipeline(
+            Class<?> requestClass, RegisteredRequestHandler handler, Executor executor, DispatchMetrics metrics) {
+        var sync = (RequestHandler<Request<Object>, Object>)handler.handler;
+        var async = (AsyncRequestHandler<Request<Object>, Object>)handler.asyncHandler;
+
+        for (int i = this.requestBehaviors.length - 1; i >= 0; i--) {
+            RegisteredRequestBehavior rb = this.requestBehaviors[i];
+
+            if (rb.requestClass != null && !rb.requestClass.isAssignableFrom(requestClass)) {
+                continue;
+            }
+
+            if (rb.behavior != null) {
+                var behavior = (RequestPipelineBehavior<Request<Object>, Object>)rb.behavior;
+                sync = metrics.measure(behavior, sync != null ? sync : await(async));
+                async = null;
+            } else {
+                var behavior = (AsyncRequestPipelineBehavior<Request<Object>, Object>)rb.asyncBehavior;
+                async = metrics.measure(behavior, async != null ? async : offload(sync, executor));
+                sync = null;
+            }
+        }
+
+        return sync != null
+                ? new RequestPipeline(sync, offload(sync, executor))
+                : new RequestPipeline(await(async), async);
+    }
+
+    private <TEvent extends Event> EventHandler<TEvent> buildEventPipelineChain(
+            Class<?> eventClass, EventHandler<TEvent> handler) {
+        var current = handler;
+
+        for (int i = this.eventBehaviors.length - 1; i >= 0; i--) {
+            RegisteredEventBehavior eb = this.eventBehaviors[i];
+
+            if (eb.eventClass == null || eb.eventClass.isAssignableFrom(eventClass)) {
+                current = wrapEventHandler(eb.behavior, current);
+            }
+        }
+
+        return current;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <TEvent extends Event> EventHandler<TEvent> wrapEventHandler(
+            EventPipelineBehavior<?> raw,
+            EventHandler<TEvent> next) {
+        var typed = (EventPipelineBehavior<TEvent>)raw;
+        return event -> typed.handle(event, next);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <TQuery extends StreamQuery<TItem>, TItem> StreamQueryHandler<TQuery, TItem> wrapStreamHandler(
+            StreamPipelineBehavior<?, ?> raw,
+            StreamQueryHandler<TQuery, TItem> next) {
+        var typed = (StreamPipelineBehavior<TQuery, TItem>)raw;
+        return query -> typed.handle(query, next);
+    }
+
+    private static <TRequest extends Request<TResponse>, TResponse> AsyncRequestHandler<TRequest, TResponse> offload(
+            RequestHandler<TRequest, TResponse> handler, Executor executor) {
+        return request -> InterruptibleTask.submit(() -> handler.handle(request), executor);
+    }
+
+    private static <TRequest extends Request<TResponse>, TResponse> RequestHandler<TRequest, TResponse> await(
+            AsyncRequestHandler<TRequest, TResponse> handler) {
+        return request -> RequestPipeline.join(handler.handle(request));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Class<?> resolveTargetClass(Object behavior, Class<?> behaviorInterface, Class<?> openType) {
+        Class<?> behaviorClass = behavior.getClass();
+        Type[] genericInterfaces = behaviorClass.getGenericInterfaces();
+
+        for (var type : genericInterfaces) {
+            if (type instanceof ParameterizedType pt &&
+                pt.getRawType() instanceof Class raw &&
+                behaviorInterface.isAssignableFrom(raw)) {
+                Type targetType = pt.getActualTypeArguments()[0];
+
+                if (targetType instanceof Class<?> targetClass &&
+                    !targetClass.equals(openType)) {
+                    return targetClass;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static void checkBatchable(Class<?> batchedClass, Class<?> batchClass, Class<?> behaviorClass) {
+        if (behaviorClass != null
+                && !behaviorClass.isAssignableFrom(batchClass)
+                && (behaviorClass.isAssignableFrom(batchedClass) || batchedClass.isAssignableFrom(behaviorClass))) {
+            throw new RuntimeException("Batch handlers cannot be combined with behaviors for the batched type");
+        }
+    }
+
+    private static Class<?> target(Class<?> type, Class<?> openType) {
+        return type == null || type.equals(openType) ? null : type;
+    }
+
+    private static <T> Map<Class<?>, T> withEntry(Map<Class<?>, T> handlers, Class<?> requestType, T handler) {
+        if (handlers.containsKey(requestType)) {
+            throw new RuntimeException("A handler for this request type has already been added");
+        }
+
+        var copy = new HashMap<>(handlers);
+        copy.put(requestType, handler);
+        return Map.copyOf(copy);
+    }
+
+    private static <T> T[] append(T[] items, T item) {
+        T[] copy = Arrays.copyOf(items, items.length + 1);
+        copy[items.length] = item;
+        return copy;
+    }
+
+    record RegisteredRequestHandler(RequestHandler<?, ?> handler, AsyncRequestHandler<?, ?> asyncHandler) {}
+
+    record RegisteredRequestBehavior(
+            Class<?> requestClass,
+            RequestPipelineBehavior<?, ?> behavior,
+            AsyncRequestPipelineBehavior<?, ?> asyncBehavior) {}
+
+    record RegisteredEventHandler(Class<?> eventClass, EventHandler<?> handler, RegisteredBatch batch) {}
+
+    record RegisteredBatch(BatchEventHandler<?> handler, int maxBatchSize, Duration maxLinger) {}
+
+    record RegisteredEventBehavior(Class<?> eventClass, EventPipelineBehavior<?> behavior) {}
+
+    record RegisteredStreamBehavior(Class<?> queryClass, StreamPipelineBehavior<?, ?> behavior) {}
+}
\ No newline at end of file
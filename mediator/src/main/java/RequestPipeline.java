@@ -0,0 +1,18 @@
+import abstractions.requests.AsyncRequestHandler;
+import abstractions.requests.RequestHandler;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+record RequestPipeline(RequestHandler<?, ?> sync, AsyncRequestHandler<?, ?> async) {
+    static <T> T join(CompletionStage<T> stage) {
+        try {
+            return stage.toCompletableFuture().join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw ex;
+        }
+    }
+}
\ No newline at end of file
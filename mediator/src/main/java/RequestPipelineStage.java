@@ -0,0 +1,3 @@
+interface RequestPipelineStage {
+    RequestPipeline apply(Class<?> requestClass, RequestPipeline pipeline);
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+import java.time.Duration;
+import java.util.Map;
+
+final class RequestTimeouts {
+    private final ClassValue<Duration> timeouts;
+
+    RequestTimeouts(Map<Class<?>, Duration> timeouts) {
+        this.timeouts = new ClassValue<>() {
+            @Override
+            protected Duration computeValue(Class<?> type) {
+                return AsyncDispatcher.resolve(timeouts, type, Duration.ZERO);
+            }
+        };
+    }
+
+    static RequestTimeouts disabled() {
+        return new RequestTimeouts(Map.of());
+    }
+
+    Duration timeoutFor(Class<?> requestType) {
+        return this.timeouts.get(requestType);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/*
+ * Adapts a lazily evaluated Stream to a cold Flow.Publisher. Each subscription opens its own stream on the first
+ * request and pulls exactly as many items as have been requested, on the thread that requested them; a request
+ * made from inside onNext only adds demand for the loop that is already running, so the call stack stays flat.
+ */
+final class StreamPublisher<T> implements Flow.Publisher<T> {
+    private final Supplier<? extends Stream<? extends T>> source;
+
+    StreamPublisher(Supplier<? extends Stream<? extends T>> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        subscriber.onSubscribe(new StreamSubscription<>(subscriber, this.source));
+    }
+
+    private static final class StreamSubscription<T> implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final Supplier<? extends Stream<? extends T>> source;
+        private final AtomicLong demand;
+        private final AtomicInteger work;
+        private volatile boolean cancelled;
+        private volatile Throwable failure;
+        private Stream<? extends T> stream;
+        private Iterator<? extends T> iterator;
+        private boolean done;
+
+        private StreamSubscription(
+                Flow.Subscriber<? super T> subscriber, Supplier<? extends Stream<? extends T>> source) {
+            this.subscriber = subscriber;
+            this.source = source;
+            this.demand = new AtomicLong();
+            this.work = new AtomicInteger();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                this.failure = new IllegalArgumentException("Demand must be positive");
+                this.cancelled = true;
+                drain();
+                return;
+            }
+
+            this.demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            drain();
+        }
+
+        private void drain() {
+            if (this.work.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+
+            do {
+                if (!this.done) {
+                    if (this.cancelled) {
+                        close();
+
+                        if (this.failure != null) {
+                            this.subscriber.onError(this.failure);
+                        }
+                    } else {
+                        emit();
+                    }
+                }
+
+                missed = this.work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            long requested = this.demand.get();
+            long emitted = 0;
+
+            try {
+                if (this.iterator == null) {
+                    this.stream = this.source.get();
+                    this.iterator = this.stream.iterator();
+                }
+
+                while (emitted != requested && !this.cancelled) {
+                    if (!this.iterator.hasNext()) {
+                        close();
+                        this.subscriber.onComplete();
+                        return;
+                    }
+
+                    this.subscriber.onNext(this.iterator.next());
+                    emitted++;
+                }
+            } catch (RuntimeException ex) {
+                close();
+                this.subscriber.onError(ex);
+                return;
+            }
+
+            if (requested != Long.MAX_VALUE) {
+                this.demand.addAndGet(-emitted);
+            }
+        }
+
+        private void close() {
+            this.done = true;
+
+            if (this.stream != null) {
+                this.stream.close();
+            }
+        }
+    }
+}
\ No newline at end of file
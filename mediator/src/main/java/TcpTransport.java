@@ -0,0 +1,148 @@
+import abstractions.events.Event;
+import abstractions.requests.Request;
+import abstractions.transport.MessageSerializer;
+import abstractions.transport.Transport;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Client side of the TCP transport. Calls are spread round-robin over a fixed pool of connections, each of which
+ * pipelines any number of outstanding calls. Connections are opened on first use and reopened on the next call after
+ * they are lost; the calls that were outstanding on a lost connection fail.
+ */
+public final class TcpTransport implements Transport {
+    private final SocketAddress address;
+    private final MessageSerializer serializer;
+    private final NioLoop loop;
+    private final Slot[] slots;
+    private final AtomicInteger nextSlot;
+    private final AtomicInteger nextId;
+    private volatile boolean closed;
+
+    public TcpTransport(SocketAddress address, MessageSerializer serializer, int connections) {
+        if (connections <= 0) {
+            throw new IllegalArgumentException("Connection count must be positive");
+        }
+
+        this.address = address;
+        this.serializer = serializer;
+        this.loop = new NioLoop("mediator-transport-client");
+        this.slots = new Slot[connections];
+        this.nextSlot = new AtomicInteger();
+        this.nextId = new AtomicInteger();
+
+        for (int i = 0; i < connections; i++) {
+            this.slots[i] = new Slot();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <TResponse> CompletableFuture<TResponse> send(Request<TResponse> request) {
+        return (CompletableFuture<TResponse>)dispatch(FrameConnection.REQUEST, request);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Void> publish(Event event) {
+        return (CompletableFuture<Void>)(CompletableFuture<?>)dispatch(FrameConnection.EVENT, event);
+    }
+
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+        this.loop.close();
+    }
+
+    private CompletableFuture<Object> dispatch(byte type, Object message) {
+        if (this.closed) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Transport is closed"));
+        }
+
+        byte[] payload = this.serializer.serialize(message);
+        var future = new CompletableFuture<Object>();
+        Slot slot = this.slots[Math.floorMod(this.nextSlot.getAndIncrement(), this.slots.length)];
+        int id = this.nextId.incrementAndGet();
+
+        if (!this.loop.execute(() -> slot.send(type, id, payload, future))) {
+            future.completeExceptionally(new RejectedExecutionException("Transport is closed"));
+        }
+
+        return future;
+    }
+
+    private final class Slot implements FrameConnection.Listener {
+        private final Map<Integer, CompletableFuture<Object>> pending;
+        private FrameConnection connection;
+
+        private Slot() {
+            this.pending = new HashMap<>();
+        }
+
+        private void send(byte type, int id, byte[] payload, CompletableFuture<Object> future) {
+            if (closed) {
+                future.completeExceptionally(new RejectedExecutionException("Transport is closed"));
+                return;
+            }
+
+            if (this.connection == null) {
+                try {
+                    this.connection = FrameConnection.connect(loop, address, this);
+                } catch (IOException ex) {
+                    future.completeExceptionally(new UncheckedIOException("Unable to connect to " + address, ex));
+                    return;
+                }
+            }
+
+            this.pending.put(id, future);
+            this.connection.send(type, id, payload);
+        }
+
+        @Override
+        public void onFrame(FrameConnection connection, byte type, int id, byte[] payload) {
+            CompletableFuture<Object> future = this.pending.remove(id);
+
+            if (future == null) {
+                return;
+            }
+
+            switch (type) {
+                case FrameConnection.ACK -> future.complete(null);
+                case FrameConnection.FAILURE -> future.completeExceptionally(FrameConnection.remoteFailure(payload));
+                default -> {
+                    try {
+                        future.complete(serializer.deserialize(payload));
+                    } catch (RuntimeException ex) {
+                        future.completeExceptionally(ex);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onClosed(FrameConnection connection, IOException cause) {
+            if (this.connection == connection) {
+                this.connection = null;
+            }
+
+            List<CompletableFuture<Object>> lost = new ArrayList<>(this.pending.values());
+            this.pending.clear();
+
+            for (var future : lost) {
+                future.completeExceptionally(new UncheckedIOException("Connection to " + address + " was lost", cause));
+            }
+        }
+    }
+}
\ No newline at end of file
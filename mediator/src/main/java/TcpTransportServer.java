@@ -0,0 +1,169 @@
+import abstractions.Mediator;
+import abstractions.events.Event;
+import abstractions.requests.Request;
+import abstractions.transport.MessageSerializer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/*
+ * Server side of the TCP transport: requests and events read from any connection are handed to the local mediator
+ * with sendAsync and publishAsync, and each result is written back under the caller's correlation id as soon as it
+ * completes, so responses on one connection may overtake each other. Frames are deserialized and dispatched on the
+ * given executor, or on virtual threads by default, so a handler that runs on the calling thread never holds up the
+ * selector thread.
+ */
+public final class TcpTransportServer implements AutoCloseable {
+    private static final byte[] EMPTY = new byte[0];
+
+    private final Mediator mediator;
+    private final MessageSerializer serializer;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final NioLoop loop;
+    private final ServerSocketChannel server;
+    private final Dispatcher dispatcher;
+
+    public TcpTransportServer(Mediator mediator, SocketAddress address, MessageSerializer serializer) {
+        this(mediator, address, serializer, Executors.newVirtualThreadPerTaskExecutor(), true);
+    }
+
+    public TcpTransportServer(
+            Mediator mediator, SocketAddress address, MessageSerializer serializer, Executor executor) {
+        this(mediator, address, serializer, executor, false);
+    }
+
+    private TcpTransportServer(
+            Mediator mediator, SocketAddress address, MessageSerializer serializer, Executor executor, boolean owned) {
+        this.mediator = mediator;
+        this.serializer = serializer;
+        this.executor = Objects.requireNonNull(executor);
+        this.ownedExecutor = owned ? (ExecutorService)executor : null;
+        this.dispatcher = new Dispatcher();
+        this.loop = new NioLoop("mediator-transport-server");
+
+        try {
+            this.server = ServerSocketChannel.open();
+            this.server.bind(address);
+            this.server.configureBlocking(false);
+        } catch (IOException ex) {
+            close();
+            throw new UncheckedIOException("Unable to listen on " + address, ex);
+        }
+
+        var registered = new CompletableFuture<Void>();
+        this.loop.execute(() -> {
+            try {
+                this.server.register(this.loop.selector(), SelectionKey.OP_ACCEPT, new Acceptor());
+                registered.complete(null);
+            } catch (IOException ex) {
+                registered.completeExceptionally(new UncheckedIOException("Unable to listen on " + address, ex));
+            }
+        });
+        RequestPipeline.join(registered);
+    }
+
+    public SocketAddress address() {
+        try {
+            return this.server.getLocalAddress();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.loop.close();
+
+        if (this.ownedExecutor != null) {
+            this.ownedExecutor.shutdownNow();
+        }
+    }
+
+    private final class Acceptor implements NioLoop.Handler {
+        @Override
+        public void ready(SelectionKey key) {
+            try {
+                SocketChannel channel;
+
+                while ((channel = server.accept()) != null) {
+                    FrameConnection.accepted(loop, channel, dispatcher);
+                }
+            } catch (IOException ex) {
+                closed();
+            }
+        }
+
+        @Override
+        public void closed() {
+            try {
+                server.close();
+            } catch (IOException _) {
+            }
+        }
+    }
+
+    private final class Dispatcher implements FrameConnection.Listener {
+        @Override
+        public void onFrame(FrameConnection connection, byte type, int id, byte[] payload) {
+            try {
+                executor.execute(() -> dispatch(connection, type, id, payload));
+            } catch (RejectedExecutionException ex) {
+                reply(connection, id, null, ex);
+            }
+        }
+
+        @Override
+        public void onClosed(FrameConnection connection, IOException cause) {
+        }
+
+        @SuppressWarnings("unchecked")
+        private void dispatch(FrameConnection connection, byte type, int id, byte[] payload) {
+            CompletableFuture<?> result;
+
+            try {
+                Object message = serializer.deserialize(payload);
+                result = switch (type) {
+                    case FrameConnection.REQUEST -> mediator.sendAsync((Request<Object>)message);
+                    case FrameConnection.EVENT -> mediator.publishAsync((Event)message);
+                    default -> throw new IllegalArgumentException("Unknown frame type " + type);
+                };
+            } catch (RuntimeException ex) {
+                result = CompletableFuture.failedFuture(ex);
+            }
+
+            result.whenComplete((response, error) -> reply(connection, id, response, error));
+        }
+
+        private void reply(FrameConnection connection, int id, Object response, Throwable error) {
+            if (error == null && response == null) {
+                connection.send(FrameConnection.ACK, id, EMPTY);
+                return;
+            }
+
+            if (error == null) {
+                try {
+                    connection.send(FrameConnection.RESPONSE, id, serializer.serialize(response));
+                    return;
+                } catch (RuntimeException ex) {
+                    error = ex;
+                }
+            }
+
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            connection.send(FrameConnection.FAILURE, id, FrameConnection.failure(cause));
+        }
+    }
+}
\ No newline at end of file
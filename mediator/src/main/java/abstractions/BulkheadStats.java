@@ -0,0 +1,13 @@
+package abstractions;
+
+public interface BulkheadStats {
+    int active();
+
+    int queued();
+
+    long rejected();
+
+    long callerRuns();
+
+    long dropped();
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package abstractions;
+
+public interface DispatchStats {
+    long calls();
+
+    long errors();
+
+    long inFlight();
+
+    long latencyNanos(double percentile);
+
+    long maxLatencyNanos();
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package abstractions;
+
+public sealed interface HandlerLifetime {
+    static HandlerLifetime lazySingleton() {
+        return new LazySingleton();
+    }
+
+    static HandlerLifetime perCall() {
+        return new PerCall();
+    }
+
+    static HandlerLifetime pooled(int maxSize) {
+        return new Pooled(maxSize);
+    }
+
+    record LazySingleton() implements HandlerLifetime {}
+
+    record PerCall() implements HandlerLifetime {}
+
+    record Pooled(int maxSize) implements HandlerLifetime {
+        public Pooled {
+            if (maxSize <= 0) {
+                throw new IllegalArgumentException("Pool size must be positive");
+            }
+        }
+    }
+}
\ No newline at end of file
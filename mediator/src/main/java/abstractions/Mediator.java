@@ -0,0 +1,90 @@
+package abstractions;
+
+import abstractions.behaviors.AsyncRequestPipelineBehavior;
+import abstractions.behaviors.EventPipelineBehavior;
+import abstractions.behaviors.RequestPipelineBehavior;
+import abstractions.behaviors.StreamPipelineBehavior;
+import abstractions.commands.BatchRequestHandler;
+import abstractions.commands.ResultCommand;
+import abstractions.events.BatchEventHandler;
+import abstractions.events.Event;
+import abstractions.events.EventHandler;
+import abstractions.queries.LazyStreamQueryHandler;
+import abstractions.queries.StreamQuery;
+import abstractions.queries.StreamQueryHandler;
+import abstractions.requests.AsyncRequestHandler;
+import abstractions.requests.RequestHandler;
+import abstractions.requests.Request;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Supplier;
+
+public interface Mediator extends AutoCloseable {
+    <TRequest extends Request<TResponse>, TResponse> void registerHandler(
+            Class<TRequest> requestType, RequestHandler<TRequest, TResponse> requestHandler);
+
+    <TRequest extends Request<TResponse>, TResponse> void registerHandler(
+            Class<TRequest> requestType,
+            Supplier<? extends RequestHandler<TRequest, TResponse>> handlerFactory,
+            HandlerLifetime lifetime);
+
+    <TRequest extends Request<TResponse>, TResponse> void registerAsyncHandler(
+            Class<TRequest> requestType, AsyncRequestHandler<TRequest, TResponse> requestHandler);
+
+    <TEvent extends Event> void registerEventHandler(
+            Class<TEvent> eventType, EventHandler<TEvent> eventHandler);
+
+    <TEvent extends Event> void registerEventHandler(
+            Class<TEvent> eventType, Supplier<? extends EventHandler<TEvent>> handlerFactory, HandlerLifetime lifetime);
+
+    <TEvent extends Event> void registerEventHandler(
+            Class<TEvent> eventType, BatchEventHandler<TEvent> eventHandler, int maxBatchSize, Duration maxLinger);
+
+    <TCommand extends ResultCommand<TResponse>, TResponse> void registerBatchHandler(
+            Class<TCommand> commandType, BatchRequestHandler<TCommand, TResponse> batchHandler);
+
+    <TQuery extends StreamQuery<TItem>, TItem> void registerStreamHandler(
+            Class<TQuery> queryType, StreamQueryHandler<TQuery, TItem> queryHandler);
+
+    <TQuery extends StreamQuery<TItem>, TItem> void registerLazyStreamHandler(
+            Class<TQuery> queryType, LazyStreamQueryHandler<TQuery, TItem> queryHandler);
+
+    <TRequest extends Request<TResponse>, TResponse> TResponse send(TRequest request);
+
+    <TRequest extends Request<TResponse>, TResponse> CompletableFuture<TResponse> sendAsync(TRequest request);
+
+    <TRequest extends Request<TResponse>, TResponse> CompletableFuture<TResponse> sendAsync(
+            TRequest request, Duration timeout);
+
+    <TCommand extends ResultCommand<TResponse>, TResponse> List<TResponse> sendAll(Collection<TCommand> commands);
+
+    <TCommand extends ResultCommand<TResponse>, TResponse> CompletableFuture<List<TResponse>> sendAllAsync(
+            Collection<TCommand> commands);
+
+    <TQuery extends StreamQuery<TItem>, TItem> Flow.Publisher<TItem> stream(TQuery query);
+
+    <TEvent extends Event> void publish(TEvent event);
+
+    <TEvent extends Event> CompletableFuture<Void> publishAsync(TEvent event);
+
+    <TEvent extends Event> void publishFireAndForget(TEvent event);
+
+    <TRequest extends Request<TResponse>, TResponse> void registerRequestPipelineBehavior(
+            RequestPipelineBehavior<TRequest, TResponse> behavior);
+
+    <TRequest extends Request<TResponse>, TResponse> void registerAsyncRequestPipelineBehavior(
+            AsyncRequestPipelineBehavior<TRequest, TResponse> behavior);
+
+    <TEvent extends Event> void registerEventPipelineBehavior(EventPipelineBehavior<TEvent> behavior);
+
+    <TQuery extends StreamQuery<TItem>, TItem> void registerStreamPipelineBehavior(
+            StreamPipelineBehavior<TQuery, TItem> behavior);
+
+    MediatorMetrics metrics();
+
+    @Override
+    void close();
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package abstractions;
+
+public interface MediatorMetrics {
+    long coalescedCalls(Class<?> queryType);
+
+    long coalescedCalls();
+
+    long queryCacheHits();
+
+    long queryCacheMisses();
+
+    long queryCacheEvictions();
+
+    long queryCacheWeight();
+
+    DispatchStats requestStats(Class<?> requestType);
+
+    DispatchStats eventStats(Class<?> eventType);
+
+    DispatchStats behaviorStats(Class<?> behaviorType);
+
+    BulkheadStats bulkheadStats(Class<?> requestOrEventType);
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package abstractions;
+
+public enum RejectionPolicy {
+    FAIL_FAST,
+    CALLER_RUNS,
+    DROP_OLDEST
+}
\ No newline at end of file
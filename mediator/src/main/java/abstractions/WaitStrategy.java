@@ -0,0 +1,7 @@
+package abstractions;
+
+public enum WaitStrategy {
+    BUSY_SPIN,
+    YIELD,
+    PARK
+}
\ No newline at end of file
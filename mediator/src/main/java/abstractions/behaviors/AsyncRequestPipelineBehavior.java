@@ -0,0 +1,9 @@
+package abstractions.behaviors;
+
+import abstractions.requests.AsyncRequestHandler;
+import abstractions.requests.Request;
+import java.util.concurrent.CompletionStage;
+
+public interface AsyncRequestPipelineBehavior<TRequest extends Request<TResponse>, TResponse> {
+    CompletionStage<TResponse> handle(TRequest request, AsyncRequestHandler<TRequest, TResponse> next);
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package abstractions.behaviors;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface PipelineOrder {
+    int value();
+}
\ No newline at end of file
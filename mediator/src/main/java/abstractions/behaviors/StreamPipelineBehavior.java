@@ -0,0 +1,9 @@
+package abstractions.behaviors;
+
+import abstractions.queries.StreamQuery;
+import abstractions.queries.StreamQueryHandler;
+import java.util.concurrent.Flow;
+
+public interface StreamPipelineBehavior<TQuery extends StreamQuery<TItem>, TItem> {
+    Flow.Publisher<TItem> handle(TQuery query, StreamQueryHandler<TQuery, TItem> next);
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package abstractions.commands;
+
+import java.util.List;
+
+public interface BatchCommand<TCommand extends ResultCommand<TResponse>, TResponse>
+        extends ResultCommand<List<TResponse>> {
+    List<TCommand> commands();
+}
\ No newline at end of file
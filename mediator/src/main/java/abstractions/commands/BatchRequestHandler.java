@@ -0,0 +1,7 @@
+package abstractions.commands;
+
+import java.util.List;
+
+public interface BatchRequestHandler<TCommand extends ResultCommand<TResponse>, TResponse> {
+    List<TResponse> handle(List<TCommand> commands);
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package abstractions.events;
+
+import java.util.List;
+
+public interface BatchEvent<TEvent extends Event> extends Event {
+    List<TEvent> events();
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package abstractions.events;
+
+import java.util.List;
+
+public interface BatchEventHandler<TEvent extends Event> {
+    void handle(List<TEvent> events);
+}
\ No newline at end of file
@@ -4,6 +4,6 @@ import java.time.LocalDate;
 
 public interface Event {
     default LocalDate getOccurredAt() {
-        return LocalDate.now();
+        return EventClock.today();
     }
 }
\ No newline at end of file
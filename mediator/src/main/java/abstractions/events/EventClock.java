@@ -0,0 +1,38 @@
+package abstractions.events;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/*
+ * LocalDate.now() resolves the default zone and builds a new date on every call. The current day only changes once
+ * a day, so it is cached together with the instant range it covers and rebuilt when the clock leaves that range.
+ */
+final class EventClock {
+    private static volatile Day today = Day.of(System.currentTimeMillis());
+
+    private EventClock() {}
+
+    static LocalDate today() {
+        long now = System.currentTimeMillis();
+        Day day = today;
+
+        if (now < day.startMillis || now >= day.endMillis) {
+            day = Day.of(now);
+            today = day;
+        }
+
+        return day.date;
+    }
+
+    private record Day(LocalDate date, long startMillis, long endMillis) {
+        private static Day of(long now) {
+            ZoneId zone = ZoneId.systemDefault();
+            LocalDate date = LocalDate.ofInstant(Instant.ofEpochMilli(now), zone);
+            return new Day(
+                    date,
+                    date.atStartOfDay(zone).toInstant().toEpochMilli(),
+                    date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package abstractions.events;
+
+public interface EventSerializer {
+    byte[] serialize(Event event);
+
+    Event deserialize(byte[] payload);
+}
\ No newline at end of file
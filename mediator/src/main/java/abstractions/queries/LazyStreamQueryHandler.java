@@ -0,0 +1,7 @@
+package abstractions.queries;
+
+import java.util.stream.Stream;
+
+public interface LazyStreamQueryHandler<TQuery extends StreamQuery<TItem>, TItem> {
+    Stream<TItem> handle(TQuery query);
+}
\ No newline at end of file
@@ -0,0 +1,3 @@
+package abstractions.queries;
+
+public interface StreamQuery<TItem> { }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package abstractions.queries;
+
+import java.util.concurrent.Flow;
+
+public interface StreamQueryHandler<TQuery extends StreamQuery<TItem>, TItem> {
+    Flow.Publisher<TItem> handle(TQuery query);
+}
\ No newline at end of file
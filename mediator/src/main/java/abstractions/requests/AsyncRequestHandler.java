@@ -0,0 +1,7 @@
+package abstractions.requests;
+
+import java.util.concurrent.CompletionStage;
+
+public interface AsyncRequestHandler<TRequest extends Request<TResponse>, TResponse> {
+    CompletionStage<TResponse> handle(TRequest request);
+}
\ No newline at end of file
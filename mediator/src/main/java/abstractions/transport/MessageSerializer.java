@@ -0,0 +1,7 @@
+package abstractions.transport;
+
+public interface MessageSerializer {
+    byte[] serialize(Object message);
+
+    Object deserialize(byte[] payload);
+}
\ No newline at end of file
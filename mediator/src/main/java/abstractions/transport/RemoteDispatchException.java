@@ -0,0 +1,14 @@
+package abstractions.transport;
+
+public class RemoteDispatchException extends RuntimeException {
+    private final String remoteType;
+
+    public RemoteDispatchException(String remoteType, String remoteMessage) {
+        super(remoteMessage != null ? remoteType + ": " + remoteMessage : remoteType);
+        this.remoteType = remoteType;
+    }
+
+    public String remoteType() {
+        return this.remoteType;
+    }
+}
\ No newline at end of file
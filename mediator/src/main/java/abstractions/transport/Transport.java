@@ -0,0 +1,14 @@
+package abstractions.transport;
+
+import abstractions.events.Event;
+import abstractions.requests.Request;
+import java.util.concurrent.CompletableFuture;
+
+public interface Transport extends AutoCloseable {
+    <TResponse> CompletableFuture<TResponse> send(Request<TResponse> request);
+
+    CompletableFuture<Void> publish(Event event);
+
+    @Override
+    void close();
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+import abstractions.Mediator;
+import abstractions.behaviors.EventPipelineBehavior;
+import abstractions.events.EventHandler;
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class AllocationFreeDispatchTest {
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 100_000;
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    @BeforeAll
+    static void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void shouldNotAllocateWhenSendingThroughBehaviors() {
+        try (var mediator = new MediatorBuilder()
+                .registerHandler(MultiplyCommand.class, new MultiplyCommandHandler())
+                .registerRequestPipelineBehavior(new DoublingPipelineBehavior())
+                .registerRequestPipelineBehavior(new DoublingPipelineBehavior())
+                .registerRequestPipelineBehavior(new DoublingPipelineBehavior())
+                .build()) {
+            var command = new MultiplyCommand(2, 3);
+
+            assertThat(allocatedBytesPerCall(() -> mediator.send(command))).isLessThan(1.0);
+        }
+    }
+
+    @Test
+    void shouldNotAllocateWhenSendingWithMetrics() {
+        try (var mediator = new MediatorBuilder()
+                .registerHandler(MultiplyCommand.class, new MultiplyCommandHandler())
+                .registerRequestPipelineBehavior(new DoublingPipelineBehavior())
+                .useBehaviorMetrics()
+                .build()) {
+            var command = new MultiplyCommand(2, 3);
+
+            assertThat(allocatedBytesPerCall(() -> mediator.send(command))).isLessThan(1.0);
+        }
+    }
+
+    @Test
+    void shouldNotAllocateWhenPublishingThroughBehaviors() {
+        var counter = new CountingEventHandler();
+        EventPipelineBehavior<UserCreatedEvent> passThrough = (event, next) -> next.handle(event);
+
+        try (Mediator mediator = new MediatorBuilder()
+                .registerEventHandler(UserCreatedEvent.class, counter)
+                .registerEventHandler(UserCreatedEvent.class, counter)
+                .registerEventPipelineBehavior(UserCreatedEvent.class, passThrough)
+                .build()) {
+            var event = new UserCreatedEvent("Alice");
+
+            assertThat(allocatedBytesPerCall(() -> mediator.publish(event))).isLessThan(1.0);
+            assertThat(counter.handled).isGreaterThan(0L);
+        }
+    }
+
+    @Test
+    void shouldNotAllocateWhenReadingOccurredAt() {
+        var event = new UserCreatedEvent("Alice");
+
+        assertThat(allocatedBytesPerCall(event::getOccurredAt)).isLessThan(1.0);
+    }
+
+    private static double allocatedBytesPerCall(Runnable call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.run();
+        }
+
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.run();
+        }
+
+        return (double)(threads.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+
+    private static final class CountingEventHandler implements EventHandler<UserCreatedEvent> {
+        private long handled;
+
+        @Override
+        public void handle(UserCreatedEvent event) {
+            this.handled++;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+import abstractions.events.Event;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+
+public class AsyncDispatcherTest {
+    @Test
+    void shouldRunAsyncHandlersOnVirtualThreadsWhenEnabled() {
+        try (var virtual = new MediatorBuilder()
+                .registerHandler(MultiplyCommand.class, _ -> Thread.currentThread().isVirtual() ? 1 : 0)
+                .useVirtualThreads()
+                .build()) {
+            assertThat(virtual.sendAsync(new MultiplyCommand(1, 1)).join()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldUseExecutorRegisteredForRequestOrEventType() {
+        var executed = new AtomicInteger();
+        Executor counting = task -> {
+            executed.incrementAndGet();
+            task.run();
+        };
+
+        try (var configured = new MediatorBuilder()
+                .registerHandler(MultiplyCommand.class, new MultiplyCommandHandler())
+                .registerEventHandler(UserCreatedEvent.class, _ -> {})
+                .useExecutor(MultiplyCommand.class, counting)
+                .useExecutor(Event.class, counting)
+                .build()) {
+            assertThat(configured.sendAsync(new MultiplyCommand(2, 5)).join()).isEqualTo(10);
+            configured.publishAsync(new UserCreatedEvent("Alice")).join();
+        }
+
+        assertThat(executed.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDrainInFlightWorkAndRejectNewWorkOnClose() {
+        var started = new CountDownLatch(1);
+        var closing = new CompletableFuture<Void>();
+        var closable = new MediatorBuilder()
+                .registerHandler(MultiplyCommand.class, request -> {
+                    started.countDown();
+                    closing.join();
+                    return request.x * request.y;
+                })
+                .registerEventHandler(UserCreatedEvent.class, _ -> {})
+                .useExecutor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        var inFlight = closable.sendAsync(new MultiplyCommand(3, 3));
+        assertThatCode(started::await).doesNotThrowAnyException();
+
+        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(() -> closing.complete(null));
+        closable.close();
+
+        assertThat(inFlight.isDone()).isTrue();
+        assertThat(inFlight.join()).isEqualTo(9);
+        assertThatThrownBy(closable.sendAsync(new MultiplyCommand(1, 1))::join)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThatThrownBy(closable.publishAsync(new UserCreatedEvent("late"))::join)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+import abstractions.RejectionPolicy;
+import abstractions.events.Event;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+
+public class BulkheadTest {
+    @Test
+    void shouldKeepQueriesResponsiveWhileEventBulkheadIsSaturated() {
+        var release = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(2);
+
+        try (var isolated = new MediatorBuilder()
+                .registerHandler(SquareQuery.class, query -> query.value() * query.value())
+                .registerEventHandler(UserCreatedEvent.class, _ -> assertThatCode(release::await).doesNotThrowAnyException())
+                .useExecutor(executor)
+                .useBulkhead(Event.class, 1, 10)
+                .build()) {
+            List<CompletableFuture<Void>> published = new ArrayList<>();
+
+            for (int i = 0; i < 5; i++) {
+                published.add(isolated.publishAsync(new UserCreatedEvent("Slow")));
+            }
+
+            assertThat(isolated.sendAsync(new SquareQuery(3)).orTimeout(1, TimeUnit.SECONDS).join()).isEqualTo(9);
+            assertThat(isolated.metrics().bulkheadStats(UserCreatedEvent.class).active()).isEqualTo(1);
+            assertThat(isolated.metrics().bulkheadStats(UserCreatedEvent.class).queued()).isEqualTo(4);
+
+            release.countDown();
+            published.forEach(CompletableFuture::join);
+
+            assertThat(isolated.metrics().bulkheadStats(UserCreatedEvent.class).queued()).isEqualTo(0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldFailFastWhenRequestBulkheadIsFull() {
+        var release = new CompletableFuture<Void>();
+
+        try (var limited = new MediatorBuilder()
+                .registerHandler(MultiplyCommand.class, request -> {
+                    release.join();
+                    return request.x * request.y;
+                })
+                .useBulkhead(MultiplyCommand.class, 1, 0)
+                .build()) {
+            var running = limited.sendAsync(new MultiplyCommand(2, 3));
+            var rejected = limited.sendAsync(new MultiplyCommand(4, 5));
+
+            assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+            assertThat(limited.metrics().bulkheadStats(MultiplyCommand.class).rejected()).isEqualTo(1);
+
+            release.complete(null);
+            assertThat(running.join()).isEqualTo(6);
+        }
+    }
+
+    @Test
+    void shouldRunOnCallerWhenBulkheadIsFullAndCallerRunsIsConfigured() {
+        var release = new CompletableFuture<Void>();
+        var caller = Thread.currentThread();
+
+        try (var limited = new MediatorBuilder()
+                .registerHandler(MultiplyCommand.class, request -> {
+                    if (Thread.currentThread() != caller) {
+                        release.join();
+                    }
+
+                    return request.x * request.y;
+                })
+                .useBulkhead(MultiplyCommand.class, 1, 0, RejectionPolicy.CALLER_RUNS)
+                .build()) {
+            var running = limited.sendAsync(new MultiplyCommand(2, 3));
+            var inline = limited.sendAsync(new MultiplyCommand(4, 5));
+
+            assertThat(inline.isDone()).isTrue();
+            assertThat(inline.join()).isEqualTo(20);
+            assertThat(limited.metrics().bulkheadStats(MultiplyCommand.class).callerRuns()).isEqualTo(1);
+
+            release.complete(null);
+            assertThat(running.join()).isEqualTo(6);
+        }
+    }
+
+    @Test
+    void shouldDropOldestQueuedEventWhenBulkheadIsFull() {
+        var release = new CountDownLatch(1);
+        var handled = new CopyOnWriteArrayList<String>();
+
+        try (var limited = new MediatorBuilder()
+                .registerEventHandler(UserCreatedEvent.class, event -> {
+                    assertThatCode(release::await).doesNotThrowAnyException();
+                    handled.add(event.userName());
+                })
+                .useBulkhead(UserCreatedEvent.class, 1, 1, RejectionPolicy.DROP_OLDEST)
+                .build()) {
+            var first = limited.publishAsync(new UserCreatedEvent("first"));
+            var dropped = limited.publishAsync(new UserCreatedEvent("dropped"));
+            var last = limited.publishAsync(new UserCreatedEvent("last"));
+
+            assertThatThrownBy(dropped::join).hasCauseInstanceOf(RejectedExecutionException.class);
+
+            release.countDown();
+            first.join();
+            last.join();
+
+            assertThat(handled.size()).isEqualTo(2);
+            assertThat(handled.contains("dropped")).isFalse();
+            assertThat(limited.metrics().bulkheadStats(UserCreatedEvent.class).dropped()).isEqualTo(1);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+import abstractions.behaviors.AsyncRequestPipelineBehavior;
+import org.junit.jupiter.api.Test;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+import javax.management.ObjectName;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+
+public class DispatchMetricsTest {
+    @Test
+    void shouldRecordDispatchMetricsWhenEnabled() throws Exception {
+        try (var measured = new MediatorBuilder()
+                .registerHandler(MultiplyCommand.class, new MultiplyCommandHandler())
+                .registerHandler(SquareQuery.class, _ -> {
+                    throw new IllegalStateException("Store unavailable");
+                })
+                .registerEventHandler(UserCreatedEvent.class, new LoggingEventHandler())
+                .registerRequestPipelineBehavior(new DoublingPipelineBehavior())
+                .useBehaviorMetrics()
+                .useJmxMetrics("metrics-test")
+                .build()) {
+            measured.send(new MultiplyCommand(2, 2));
+            measured.sendAsync(new MultiplyCommand(2, 3)).join();
+            measured.publish(new UserCreatedEvent("Alice"));
+            assertThatThrownBy(() -> measured.send(new SquareQuery(1))).isInstanceOf(IllegalStateException.class);
+
+            var commands = measured.metrics().requestStats(MultiplyCommand.class);
+            assertThat(commands.calls()).isEqualTo(2);
+            assertThat(commands.errors()).isEqualTo(0);
+            assertThat(commands.inFlight()).isEqualTo(0);
+            assertThat(commands.latencyNanos(0.99)).isGreaterThan(0L);
+            assertThat(measured.metrics().requestStats(SquareQuery.class).errors()).isEqualTo(1);
+            assertThat(measured.metrics().eventStats(UserCreatedEvent.class).calls()).isEqualTo(1);
+            assertThat(measured.metrics().behaviorStats(DoublingPipelineBehavior.class).calls()).isEqualTo(2);
+
+            var name = new ObjectName("mediator:mediator=\"metrics-test\",type=Request,name=\"MultiplyCommand\"");
+            assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Calls")).isEqualTo(2L);
+        }
+    }
+
+    @Test
+    void shouldNotCollectDispatchMetricsByDefault() {
+        try (var mediator = new MediatorBuilder()
+                .registerHandler(MultiplyCommand.class, new MultiplyCommandHandler())
+                .build()) {
+            mediator.send(new MultiplyCommand(2, 2));
+
+            assertThat(mediator.metrics().requestStats(MultiplyCommand.class).calls()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void shouldTimeAsyncBehaviorsFromTheirFutures() {
+        var handlerDone = new CompletableFuture<Integer>();
+        var behaviorDone = new CompletableFuture<Void>();
+        AsyncRequestPipelineBehavior<MultiplyCommand, Integer> behavior =
+                (request, next) -> next.handle(request).thenCompose(result -> behaviorDone.thenApply(_ -> result));
+
+        try (var measured = new MediatorBuilder()
+                .registerAsyncHandler(MultiplyCommand.class, _ -> handlerDone)
+                .registerAsyncRequestPipelineBehavior(behavior)
+                .useBehaviorMetrics()
+                .build()) {
+            var response = measured.sendAsync(new MultiplyCommand(2, 3));
+            var stats = measured.metrics().behaviorStats(behavior.getClass());
+
+            handlerDone.complete(6);
+            assertThat(stats.calls()).isEqualTo(0);
+
+            CompletableFuture.runAsync(() -> behaviorDone.complete(null)).join();
+
+            assertThat(response.join()).isEqualTo(6);
+            assertThat(stats.calls()).isEqualTo(1);
+            assertThat(stats.errors()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void shouldKeepWorkingWhenJmxNameIsTaken() {
+        try (var first = new MediatorBuilder()
+                .registerHandler(MultiplyCommand.class, new MultiplyCommandHandler())
+                .useJmxMetrics("duplicate-test")
+                .build();
+             var second = new MediatorBuilder()
+                     .registerHandler(MultiplyCommand.class, new MultiplyCommandHandler())
+                     .useJmxMetrics("duplicate-test")
+                     .build()) {
+            assertThat(first.send(new MultiplyCommand(2, 2))).isEqualTo(4);
+            assertThat(second.send(new MultiplyCommand(3, 3))).isEqualTo(9);
+            assertThat(second.metrics().requestStats(MultiplyCommand.class).calls()).isEqualTo(1);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+import abstractions.behaviors.RequestPipelineBehavior;
+import abstractions.requests.RequestHandler;
+
+public class DoublingPipelineBehavior implements RequestPipelineBehavior<MultiplyCommand, Integer> {
+    @Override
+    public Integer handle(MultiplyCommand request, RequestHandler<MultiplyCommand, Integer> next) {
+        return next.handle(request) * 2;
+    }
+}
@@ -0,0 +1,156 @@
+import abstractions.events.BatchEvent;
+import abstractions.events.BatchEventHandler;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+
+public class EventBatchersTest {
+    @Test
+    void shouldCompletePublishOnlyOnceTheBatchIsDelivered() {
+        var batches = new CopyOnWriteArrayList<List<String>>();
+        BatchEventHandler<UserCreatedEvent> handler = events -> {
+            if (events.contains(new UserCreatedEvent("Mallory"))) {
+                throw new IllegalStateException("Batch rejected");
+            }
+
+            batches.add(events.stream().map(UserCreatedEvent::userName).toList());
+        };
+
+        try (var mediator = new MediatorBuilder()
+                .registerEventHandler(UserCreatedEvent.class, handler, 2, Duration.ofMinutes(1))
+                .build()) {
+            CompletableFuture<Void> alice = mediator.publishAsync(new UserCreatedEvent("Alice"));
+
+            assertThat(alice.isDone()).isFalse();
+
+            mediator.publishAsync(new UserCreatedEvent("Bob")).join();
+            alice.join();
+
+            assertThat(batches.size()).isEqualTo(1);
+            assertThat(Set.copyOf(batches.getFirst())).isEqualTo(Set.of("Alice", "Bob"));
+
+            CompletableFuture<Void> mallory = mediator.publishAsync(new UserCreatedEvent("Mallory"));
+            CompletableFuture<Void> eve = mediator.publishAsync(new UserCreatedEvent("Eve"));
+
+            assertThatThrownBy(mallory::join).hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(eve::join).hasCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void shouldLogFailedBatchNobodyWaitsFor() {
+        var logged = new CopyOnWriteArrayList<LogRecord>();
+        var logger = Logger.getLogger(EventBatchers.class.getName());
+        var capture = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                logged.add(record);
+            }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+        };
+        logger.addHandler(capture);
+        logger.setUseParentHandlers(false);
+        BatchEventHandler<UserCreatedEvent> handler = _ -> {
+            throw new IllegalStateException("Batch rejected");
+        };
+
+        try (var mediator = new MediatorBuilder()
+                .registerEventHandler(UserCreatedEvent.class, handler, 2, Duration.ofMinutes(1))
+                .build()) {
+            mediator.publish(new UserCreatedEvent("Alice"));
+            mediator.publish(new UserCreatedEvent("Bob"));
+        } finally {
+            logger.removeHandler(capture);
+            logger.setUseParentHandlers(true);
+        }
+
+        assertThat(logged.size()).isEqualTo(1);
+        assertThat(logged.getFirst().getLevel()).isEqualTo(Level.WARNING);
+        assertThat(logged.getFirst().getThrown()).hasMessage("Batch rejected");
+    }
+
+    @Test
+    void shouldDeliverLingeringBatchOnClose() {
+        var delivered = new CopyOnWriteArrayList<UserCreatedEvent>();
+        CompletableFuture<Void> published;
+
+        try (var mediator = new MediatorBuilder()
+                .registerEventHandler(UserCreatedEvent.class, delivered::addAll, 10, Duration.ofMinutes(1))
+                .build()) {
+            published = mediator.publishAsync(new UserCreatedEvent("Alice"));
+        }
+
+        assertThatCode(published::join).doesNotThrowAnyException();
+        assertThat(delivered.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRefuseBehaviorsForTheBatchedEventType() {
+        BatchEventHandler<UserCreatedEvent> handler = _ -> {};
+
+        assertThatThrownBy(() -> new MediatorBuilder()
+                .registerEventPipelineBehavior(UserCreatedEvent.class, (event, next) -> next.handle(event))
+                .registerEventHandler(UserCreatedEvent.class, handler, 2, Duration.ofSeconds(1)))
+                .hasMessage("Batch handlers cannot be combined with behaviors for the batched type");
+        assertThatThrownBy(() -> new MediatorBuilder()
+                .registerEventHandler(UserCreatedEvent.class, handler, 2, Duration.ofSeconds(1))
+                .registerEventPipelineBehavior(UserCreatedEvent.class, (event, next) -> next.handle(event)))
+                .hasMessage("Batch handlers cannot be combined with behaviors for the batched type");
+    }
+
+    @Test
+    void shouldFlushEventBatchesWhenFullAndOnClose() {
+        var batches = new CopyOnWriteArrayList<List<UserCreatedEvent>>();
+        var behaviorEvents = new CopyOnWriteArrayList<Object>();
+        var batching = new MediatorBuilder()
+                .registerEventHandler(UserCreatedEvent.class, batches::add, 3, Duration.ofMinutes(1))
+                .registerEventPipelineBehavior((event, next) -> {
+                    behaviorEvents.add(event);
+                    next.handle(event);
+                })
+                .build();
+
+        for (int i = 0; i < 7; i++) {
+            batching.publish(new UserCreatedEvent("User" + i));
+        }
+
+        assertThat(batches.size()).isEqualTo(2);
+        assertThat(batches.get(1).getFirst().userName()).isEqualTo("User3");
+        assertThat(behaviorEvents.size()).isEqualTo(2);
+        assertThat(behaviorEvents.getFirst()).isInstanceOf(BatchEvent.class);
+
+        batching.close();
+
+        assertThat(batches.size()).isEqualTo(3);
+        assertThat(batches.get(2).size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFlushPartialEventBatchAfterLinger() throws Exception {
+        var sizes = new CopyOnWriteArrayList<Integer>();
+
+        try (var mediator = new MediatorBuilder()
+                .registerEventHandler(
+                        UserCreatedEvent.class, events -> sizes.add(events.size()), 100, Duration.ofMillis(20))
+                .build()) {
+            mediator.publishAsync(new UserCreatedEvent("First")).get(5, TimeUnit.SECONDS);
+
+            assertThat(sizes).isEqualTo(List.of(1));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+import abstractions.events.BatchEventHandler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+
+public class EventJournalTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRecoverOnlyUndeliveredEvents() {
+        try (var journal = new EventJournal(directory, new UserCreatedEventSerializer(), 4096)) {
+            journal.append(new UserCreatedEvent("delivered")).join().delivered();
+            journal.append(new UserCreatedEvent("pending")).join();
+        }
+
+        try (var reopened = new EventJournal(directory, new UserCreatedEventSerializer(), 4096)) {
+            List<EventJournal.Entry> recovered = reopened.recovered();
+
+            assertThat(recovered.size()).isEqualTo(1);
+            assertThat(recovered.getFirst().event()).isEqualTo(new UserCreatedEvent("pending"));
+        }
+    }
+
+    @Test
+    void shouldDeleteSegmentsOnceEveryEventIsDelivered() throws IOException {
+        try (var journal = new EventJournal(directory, new UserCreatedEventSerializer(), 64)) {
+            for (int i = 0; i < 20; i++) {
+                journal.append(new UserCreatedEvent("user-" + i)).join().delivered();
+            }
+        }
+
+        assertThat(segmentCount()).isEqualTo(1L);
+
+        try (var reopened = new EventJournal(directory, new UserCreatedEventSerializer(), 64)) {
+            assertThat(reopened.recovered().isEmpty()).isTrue();
+        }
+    }
+
+    @Test
+    void shouldRejectEventsLargerThanSegment() {
+        try (var journal = new EventJournal(directory, new UserCreatedEventSerializer(), 16)) {
+            assertThatThrownBy(() -> journal.append(new UserCreatedEvent("far too long for a segment")))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void shouldReplayUndeliveredEventsOnStartup() {
+        var stuck = new CompletableFuture<Void>();
+        var crashed = new MediatorBuilder()
+                .registerEventHandler(UserCreatedEvent.class, _ -> stuck.join())
+                .useEventJournal(directory, new UserCreatedEventSerializer())
+                .useShutdownTimeout(Duration.ZERO)
+                .build();
+
+        crashed.publishAsync(new UserCreatedEvent("Alice"));
+        crashed.publishAsync(new UserCreatedEvent("Bob"));
+        crashed.close();
+        stuck.complete(null);
+
+        var replayed = new CopyOnWriteArrayList<String>();
+
+        try (var restarted = new MediatorBuilder()
+                .registerEventHandler(UserCreatedEvent.class, event -> replayed.add(event.userName()))
+                .useEventJournal(directory, new UserCreatedEventSerializer())
+                .build()) {
+            assertThat(replayed.size()).isEqualTo(2);
+            assertThat(replayed.containsAll(List.of("Alice", "Bob"))).isTrue();
+        }
+
+        try (var again = new MediatorBuilder()
+                .registerEventHandler(UserCreatedEvent.class, event -> replayed.add(event.userName()))
+                .useEventJournal(directory, new UserCreatedEventSerializer())
+                .build()) {
+            assertThat(replayed.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void shouldKeepEventsPendingWhenAHandlerFails() {
+        try (var failing = new MediatorBuilder()
+                .registerEventHandler(UserCreatedEvent.class, _ -> {
+                    throw new IllegalStateException("Store unavailable");
+                })
+                .useEventJournal(directory, new UserCreatedEventSerializer())
+                .build()) {
+            assertThatThrownBy(failing.publishAsync(new UserCreatedEvent("Alice"))::join)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+
+        var replayed = new CopyOnWriteArrayList<String>();
+
+        try (var restarted = new MediatorBuilder()
+                .registerEventHandler(UserCreatedEvent.class, event -> replayed.add(event.userName()))
+                .useEventJournal(directory, new UserCreatedEventSerializer())
+                .build()) {
+            assertThat(replayed).isEqualTo(List.of("Alice"));
+        }
+    }
+
+    @Test
+    void shouldMarkBatchedEventsDeliveredOnlyWithTheirBatch() {
+        BatchEventHandler<UserCreatedEvent> handler = events -> {
+            if (events.contains(new UserCreatedEvent("Mallory"))) {
+                throw new IllegalStateException("Batch rejected");
+            }
+        };
+
+        try (var batching = new MediatorBuilder()
+                .registerEventHandler(UserCreatedEvent.class, handler, 2, Duration.ofMinutes(1))
+                .useEventJournal(directory, new UserCreatedEventSerializer())
+                .build()) {
+            CompletableFuture<Void> alice = batching.publishAsync(new UserCreatedEvent("Alice"));
+            batching.publishAsync(new UserCreatedEvent("Bob")).join();
+            alice.join();
+
+            CompletableFuture<Void> mallory = batching.publishAsync(new UserCreatedEvent("Mallory"));
+            CompletableFuture<Void> eve = batching.publishAsync(new UserCreatedEvent("Eve"));
+
+            assertThatThrownBy(mallory::join).hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(eve::join).hasCauseInstanceOf(IllegalStateException.class);
+        }
+
+        var replayed = new CopyOnWriteArrayList<String>();
+
+        try (var restarted = new MediatorBuilder()
+                .registerEventHandler(UserCreatedEvent.class, event -> replayed.add(event.userName()))
+                .useEventJournal(directory, new UserCreatedEventSerializer())
+                .build()) {
+            assertThat(replayed.size()).isEqualTo(2);
+            assertThat(replayed.containsAll(List.of("Mallory", "Eve"))).isTrue();
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
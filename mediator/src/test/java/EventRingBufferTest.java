@@ -0,0 +1,128 @@
+import abstractions.WaitStrategy;
+import abstractions.events.EventHandler;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+
+public class EventRingBufferTest {
+    @Test
+    void shouldDeliverFireAndForgetEventsThroughRingBuffer() throws InterruptedException, ExecutionException {
+        var handled = new AtomicInteger();
+        var producers = Executors.newFixedThreadPool(4);
+        var logged = new CopyOnWriteArrayList<LogRecord>();
+        var logger = Logger.getLogger(EventRingBuffer.class.getName());
+        var capture = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                logged.add(record);
+            }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+        };
+        logger.addHandler(capture);
+        logger.setUseParentHandlers(false);
+
+        try (var ring = new MediatorBuilder()
+                .registerEventHandler(UserCreatedEvent.class, event -> {
+                    if (event.userName().equals("Poison")) {
+                        throw new IllegalStateException("Poison");
+                    }
+
+                    handled.incrementAndGet();
+                })
+                .useRingBuffer(64, 2, WaitStrategy.PARK)
+                .build()) {
+            List<Future<?>> published = new ArrayList<>();
+            ring.publishFireAndForget(new UserCreatedEvent("Poison"));
+
+            for (int i = 0; i < 4; i++) {
+                published.add(producers.submit(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        ring.publishFireAndForget(new UserCreatedEvent("Telemetry"));
+                    }
+                }));
+            }
+
+            for (var producer : published) {
+                producer.get();
+            }
+        } finally {
+            producers.shutdown();
+            logger.removeHandler(capture);
+            logger.setUseParentHandlers(true);
+        }
+
+        assertThat(handled.get()).isEqualTo(40_000);
+        assertThat(logged.size()).isEqualTo(1);
+        assertThat(logged.getFirst().getLevel()).isEqualTo(Level.WARNING);
+        assertThat(logged.getFirst().getThrown()).hasMessage("Poison");
+    }
+
+    @Test
+    void shouldFallBackToPublishAsyncWithoutRingBuffer() {
+        var handled = new CountDownLatch(1);
+
+        try (var mediator = new MediatorImpl()) {
+            mediator.registerEventHandler(UserCreatedEvent.class, _ -> handled.countDown());
+
+            mediator.publishFireAndForget(new UserCreatedEvent("Alice"));
+
+            assertThatCode(() -> assertThat(handled.await(1, TimeUnit.SECONDS)).isTrue()).doesNotThrowAnyException();
+        }
+    }
+
+    @Test
+    void shouldNotLoseEventsPublishedWhileClosing() {
+        var event = new UserCreatedEvent("Telemetry");
+
+        for (int round = 0; round < 200; round++) {
+            var handled = new AtomicInteger();
+            var accepted = new AtomicInteger();
+            EventHandler<UserCreatedEvent> counter = _ -> handled.incrementAndGet();
+            EventHandler<?>[] handlers = {counter};
+            var ring = new EventRingBuffer(8, 1, WaitStrategy.BUSY_SPIN, Duration.ofSeconds(5));
+            var start = new CountDownLatch(1);
+
+            try (var producers = Executors.newFixedThreadPool(2)) {
+                for (int i = 0; i < 2; i++) {
+                    producers.submit(() -> {
+                        start.await();
+
+                        while (true) {
+                            try {
+                                ring.publish(event, handlers);
+                                accepted.incrementAndGet();
+                            } catch (RejectedExecutionException ex) {
+                                return null;
+                            }
+                        }
+                    });
+                }
+
+                start.countDown();
+                ring.close();
+            }
+
+            assertThat(handled.get()).isEqualTo(accepted.get());
+        }
+    }
+}
\ No newline at end of file
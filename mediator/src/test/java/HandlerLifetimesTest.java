@@ -0,0 +1,88 @@
+import abstractions.HandlerLifetime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+
+public class HandlerLifetimesTest {
+    private MediatorImpl mediator;
+
+    @BeforeEach
+    void setUp() {
+        mediator = new MediatorImpl();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mediator.close();
+    }
+
+    @Test
+    void shouldCreateLazyAndPerCallHandlersOnDemand() {
+        var singletons = new AtomicInteger();
+        var perCall = new AtomicInteger();
+        mediator.registerHandler(MultiplyCommand.class, () -> {
+            singletons.incrementAndGet();
+            return new MultiplyCommandHandler();
+        }, HandlerLifetime.lazySingleton());
+        mediator.registerEventHandler(UserCreatedEvent.class, () -> {
+            perCall.incrementAndGet();
+            return _ -> {};
+        }, HandlerLifetime.perCall());
+
+        assertThat(singletons.get()).isZero();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(mediator.send(new MultiplyCommand(i, 2))).isEqualTo(i * 2);
+            mediator.publish(new UserCreatedEvent("user-" + i));
+        }
+
+        assertThat(singletons.get()).isEqualTo(1);
+        assertThat(perCall.get()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotShareAPooledHandlerBetweenConcurrentCalls() throws Exception {
+        var created = new AtomicInteger();
+        var active = new AtomicInteger();
+        var maxActive = new AtomicInteger();
+        var bothBusy = new CountDownLatch(2);
+        mediator.registerHandler(SquareQuery.class, () -> {
+            created.incrementAndGet();
+            var inUse = new AtomicInteger();
+
+            return (SquareQuery query) -> {
+                assertThat(inUse.incrementAndGet()).isEqualTo(1);
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                bothBusy.countDown();
+                assertThatCode(() -> assertThat(bothBusy.await(5, TimeUnit.SECONDS)).isTrue())
+                        .doesNotThrowAnyException();
+
+                active.decrementAndGet();
+                inUse.decrementAndGet();
+                return query.value() * query.value();
+            };
+        }, HandlerLifetime.pooled(2));
+
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            var results = IntStream.range(0, 32)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> mediator.send(new SquareQuery(i)), executor))
+                    .toList();
+
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(results.get(i).get(5, TimeUnit.SECONDS)).isEqualTo(i * i);
+            }
+        }
+
+        assertThat(created.get()).isEqualTo(2);
+        assertThat(maxActive.get()).isEqualTo(2);
+        assertThatThrownBy(() -> HandlerLifetime.pooled(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+
+public class LatencyHistogramTest {
+    @Test
+    void shouldReportZeroWhenEmpty() {
+        var histogram = new LatencyHistogram();
+
+        assertThat(histogram.percentile(0.99)).isEqualTo(0L);
+        assertThat(histogram.max()).isEqualTo(0L);
+    }
+
+    @Test
+    void shouldReportPercentilesWithinBucketPrecision() {
+        var histogram = new LatencyHistogram();
+
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1_000);
+        }
+
+        assertThat(histogram.percentile(0.5)).isBetween(5_000_000L, 5_000_000L * 9 / 8);
+        assertThat(histogram.percentile(0.99)).isBetween(9_900_000L, 9_900_000L * 9 / 8);
+        assertThat(histogram.max()).isBetween(10_000_000L, 10_000_000L * 9 / 8);
+    }
+
+    @Test
+    void shouldRejectPercentileOutOfRange() {
+        assertThatThrownBy(() -> new LatencyHistogram().percentile(1.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,73 @@
+import abstractions.RejectionPolicy;
+import abstractions.behaviors.RequestPipelineBehavior;
+import abstractions.events.Event;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+
+public class MediatorBuilderTest {
+    @Test
+    void shouldBuildMediatorWithRegisteredHandlersAndBehaviors() {
+        List<String> received = new ArrayList<>();
+        var mediator = new MediatorBuilder()
+                .registerHandler(MultiplyCommand.class, new MultiplyCommandHandler())
+                .registerRequestPipelineBehavior(new DoublingPipelineBehavior())
+                .registerEventHandler(Event.class, event -> received.add(event.getClass().getSimpleName()))
+                .build();
+
+        assertThat(mediator.send(new MultiplyCommand(3, 4))).isEqualTo(24);
+
+        mediator.publish(new UserCreatedEvent("Alice"));
+
+        assertThat(received).isEqualTo(List.of("UserCreatedEvent"));
+    }
+
+    @Test
+    void shouldNotShareRegistrationsBetweenBuiltMediators() {
+        var builder = new MediatorBuilder().registerHandler(MultiplyCommand.class, new MultiplyCommandHandler());
+        var first = builder.build();
+        var second = builder.build();
+
+        second.registerRequestPipelineBehavior(new DoublingPipelineBehavior());
+        builder.registerRequestPipelineBehavior(new DoublingPipelineBehavior());
+
+        assertThat(first.send(new MultiplyCommand(3, 4))).isEqualTo(12);
+        assertThat(second.send(new MultiplyCommand(3, 4))).isEqualTo(24);
+        assertThat(builder.build().send(new MultiplyCommand(3, 4))).isEqualTo(24);
+    }
+
+    @Test
+    void shouldRejectDuplicateHandlerRegistration() {
+        var builder = new MediatorBuilder().registerHandler(MultiplyCommand.class, new MultiplyCommandHandler());
+
+        assertThatThrownBy(() -> builder.registerHandler(MultiplyCommand.class, new MultiplyCommandHandler()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("already been added");
+    }
+
+    @Test
+    void shouldOnlyAllowDroppingOldestWorkForEvents() {
+        var builder = new MediatorBuilder();
+
+        assertThatThrownBy(() -> builder.useBulkhead(MultiplyCommand.class, 1, 1, RejectionPolicy.DROP_OLDEST))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatCode(() -> builder.useBulkhead(UserCreatedEvent.class, 1, 1, RejectionPolicy.DROP_OLDEST))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldApplyBehaviorsRegisteredWithExplicitRequestType() {
+        RequestPipelineBehavior<SquareQuery, Integer> negate = (request, next) -> -next.handle(request);
+        var mediator = new MediatorBuilder()
+                .registerHandler(MultiplyCommand.class, new MultiplyCommandHandler())
+                .registerHandler(SquareQuery.class, query -> query.value() * query.value())
+                .registerRequestPipelineBehavior(SquareQuery.class, negate)
+                .registerRequestPipelineBehavior(MultiplyCommand.class, new DoublingPipelineBehavior())
+                .build();
+
+        assertThat(mediator.send(new SquareQuery(3))).isEqualTo(-9);
+        assertThat(mediator.send(new MultiplyCommand(3, 4))).isEqualTo(24);
+    }
+}
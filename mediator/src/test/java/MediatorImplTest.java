@@ -0,0 +1,285 @@
+import abstractions.commands.BatchRequestHandler;
+import abstractions.events.Event;
+import abstractions.events.EventHandler;
+import abstractions.queries.Query;
+import abstractions.requests.AsyncRequestHandler;
+import abstractions.requests.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+
+public class MediatorImplTest {
+    private MediatorImpl mediator;
+
+    @BeforeEach
+    void setUp() {
+        mediator = new MediatorImpl();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mediator.close();
+    }
+
+    @Test
+    void shouldHandleMultiplyCommandCorrectly() {
+        mediator.registerHandler(MultiplyCommand.class, new MultiplyCommandHandler());
+
+        int result = mediator.send(new MultiplyCommand(6, 7));
+
+        assertThat(result).isEqualTo(42);
+    }
+
+    @Test
+    void shouldApplyBehaviorRegisteredAfterFirstSend() {
+        mediator.registerHandler(MultiplyCommand.class, new MultiplyCommandHandler());
+
+        assertThat(mediator.send(new MultiplyCommand(2, 3))).isEqualTo(6);
+
+        mediator.registerRequestPipelineBehavior(new DoublingPipelineBehavior());
+
+        assertThat(mediator.send(new MultiplyCommand(2, 3))).isEqualTo(12);
+        assertThat(mediator.send(new MultiplyCommand(4, 5))).isEqualTo(40);
+    }
+
+    @Test
+    void shouldRunAsyncPipelineWithoutHoldingAThread() {
+        var completion = new CompletableFuture<Integer>();
+        var handlerThread = new AtomicReference<Thread>();
+        mediator.registerAsyncHandler(MultiplyCommand.class, _ -> {
+            handlerThread.set(Thread.currentThread());
+            return completion;
+        });
+
+        var result = mediator.sendAsync(new MultiplyCommand(1, 1));
+
+        assertThat(handlerThread.get()).isEqualTo(Thread.currentThread());
+        assertThat(result.isDone()).isFalse();
+
+        completion.complete(5);
+
+        assertThat(result.join()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldMixSyncAndAsyncHandlersAndBehaviors() {
+        var completion = new CompletableFuture<Integer>();
+        mediator.registerAsyncHandler(MultiplyCommand.class,
+                request -> completion.thenApply(base -> base + request.x * request.y));
+        mediator.registerRequestPipelineBehavior(new DoublingPipelineBehavior());
+        mediator.registerAsyncRequestPipelineBehavior(
+                (MultiplyCommand request, AsyncRequestHandler<MultiplyCommand, Integer> next)
+                        -> next.handle(request).thenApply(result -> result + 1));
+
+        var result = mediator.sendAsync(new MultiplyCommand(2, 3));
+
+        assertThat(result.isDone()).isFalse();
+
+        completion.complete(0);
+
+        assertThat(result.join()).isEqualTo(14);
+        assertThat(mediator.send(new MultiplyCommand(2, 3))).isEqualTo(14);
+    }
+
+    @Test
+    void shouldThrowIfUnknownQueryType() {
+        class UnknownQuery implements Query<String> {}
+
+        assertThatThrownBy(() -> mediator.send(new UnknownQuery()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("No handler registered");
+    }
+
+    @Test
+    void shouldThrowIfRegisterHandlerWithWrongBaseType() {
+        class UnknownRequest implements Request<String> {}
+
+        assertThatThrownBy(() ->
+                mediator.registerHandler(UnknownRequest.class, _ -> "fail"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Unknown request type");
+    }
+
+    @Test
+    void shouldIgnorePublishIfNoHandlers() {
+        mediator.publish(new UserCreatedEvent("Ghost"));
+    }
+
+    @Test
+    void shouldHandleMultipleEventHandlersEvenIfOneFails() {
+        mediator.registerEventHandler(UserCreatedEvent.class, new LoggingEventHandler());
+        mediator.registerEventHandler(UserCreatedEvent.class, new FailingEventHandler());
+
+        assertThatThrownBy(() -> mediator.publish(new UserCreatedEvent("FailTest")))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Simulated failure");
+
+        var _ = assertThat(LoggingEventHandler.log)
+                .actual()
+                .contains("User created: FailTest");
+    }
+
+    @Test
+    void shouldDispatchEventToHandlersRegisteredForSupertypes() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        mediator.registerEventHandler(UserCreatedEvent.class, event -> received.add("exact " + event.userName()));
+        mediator.registerEventHandler(Event.class, event -> received.add("any " + event.getClass().getSimpleName()));
+        mediator.registerEventPipelineBehavior((Event event, EventHandler<Event> next) -> {
+            received.add("behavior");
+            next.handle(event);
+        });
+
+        mediator.publish(new UserCreatedEvent("Alice"));
+
+        assertThat(received).isEqualTo(List.of("behavior", "exact Alice", "behavior", "any UserCreatedEvent"));
+
+        received.clear();
+        mediator.publishAsync(new UserCreatedEvent("Bob")).join();
+
+        assertThat(received.size()).isEqualTo(4);
+        assertThat(received.containsAll(List.of("exact Bob", "any UserCreatedEvent"))).isTrue();
+    }
+
+    @Test
+    void shouldBeThreadSafeForCommandHandlers() throws InterruptedException, ExecutionException {
+        mediator.registerHandler(MultiplyCommand.class, new MultiplyCommandHandler());
+
+        var executor = Executors.newFixedThreadPool(10);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            final int x = i, y = 2;
+            results.add(executor.submit(() -> mediator.send(new MultiplyCommand(x, y))));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(results.get(i).get()).isEqualTo(i * 2);
+        }
+
+        executor.shutdown();
+        var _ = executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldAllowRegistrationWhilePublishing() throws InterruptedException, ExecutionException {
+        var executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> publishers = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            publishers.add(executor.submit(() -> {
+                for (int j = 0; j < 1_000; j++) {
+                    mediator.publish(new UserCreatedEvent("Concurrent"));
+                }
+            }));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            mediator.registerEventHandler(UserCreatedEvent.class, _ -> {});
+        }
+
+        for (var publisher : publishers) {
+            publisher.get();
+        }
+
+        executor.shutdown();
+        var _ = executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldPassWholeBatchToBatchHandlerThroughPipelineOnce() {
+        var batches = new CopyOnWriteArrayList<List<MultiplyCommand>>();
+        var behaviorCalls = new AtomicInteger();
+        mediator.registerBatchHandler(MultiplyCommand.class, commands -> {
+            batches.add(commands);
+            return commands.stream().map(command -> command.x * command.y).toList();
+        });
+        mediator.registerRequestPipelineBehavior((request, next) -> {
+            behaviorCalls.incrementAndGet();
+            return next.handle(request);
+        });
+
+        var commands = List.of(new MultiplyCommand(1, 2), new MultiplyCommand(3, 4), new MultiplyCommand(5, 6));
+
+        assertThat(mediator.sendAll(commands)).isEqualTo(List.of(2, 12, 30));
+        assertThat(mediator.sendAllAsync(commands).join()).isEqualTo(List.of(2, 12, 30));
+        assertThat(batches.size()).isEqualTo(2);
+        assertThat(batches.getFirst()).isEqualTo(commands);
+        assertThat(behaviorCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRefuseBatchHandlerAlongsideBehaviorsForItsCommandType() {
+        BatchRequestHandler<MultiplyCommand, Integer> batchHandler =
+                commands -> commands.stream().map(command -> command.x * command.y).toList();
+        mediator.registerRequestPipelineBehavior(new DoublingPipelineBehavior());
+
+        assertThatThrownBy(() -> mediator.registerBatchHandler(MultiplyCommand.class, batchHandler))
+                .hasMessage("Batch handlers cannot be combined with behaviors for the batched type");
+
+        try (var batched = new MediatorImpl()) {
+            batched.registerBatchHandler(MultiplyCommand.class, batchHandler);
+
+            assertThatThrownBy(() -> batched.registerRequestPipelineBehavior(new DoublingPipelineBehavior()))
+                    .hasMessage("Batch handlers cannot be combined with behaviors for the batched type");
+            assertThat(batched.sendAll(List.of(new MultiplyCommand(2, 3)))).isEqualTo(List.of(6));
+        }
+    }
+
+    @Test
+    void shouldFallBackToPerItemDispatchAndReportFailuresInOrder() {
+        mediator.registerHandler(MultiplyCommand.class, command -> {
+            if (command.x < 0) {
+                throw new IllegalArgumentException("Negative " + command.x);
+            }
+
+            return command.x * command.y;
+        });
+
+        assertThat(mediator.sendAllAsync(List.of(new MultiplyCommand(2, 3), new MultiplyCommand(4, 5))).join())
+                .isEqualTo(List.of(6, 20));
+
+        var commands = List.of(
+                new MultiplyCommand(1, 2),
+                new MultiplyCommand(-1, 2),
+                new MultiplyCommand(3, 4),
+                new MultiplyCommand(-2, 2));
+
+        assertThatThrownBy(() -> mediator.sendAll(commands))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Negative -1")
+                .satisfies(ex -> assertThat(ex.getSuppressed()[0].getMessage()).isEqualTo("Negative -2"));
+    }
+
+    @Test
+    void shouldNotAllowNullHandlerRegistration() {
+        assertThatThrownBy(() ->
+                mediator.registerHandler(MultiplyCommand.class, null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    @SuppressWarnings("DataFlowIssue")
+    void shouldNotAllowNullRequestInSend() {
+        assertThatThrownBy(() -> mediator.send(null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    @SuppressWarnings("DataFlowIssue")
+    void shouldNotAllowNullEventInPublish() {
+        assertThatThrownBy(() -> mediator.publish(null))
+                .isInstanceOf(NullPointerException.class);
+    }
+}
\ No newline at end of file
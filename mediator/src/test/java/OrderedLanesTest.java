@@ -0,0 +1,70 @@
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+
+public class OrderedLanesTest {
+    @Test
+    void shouldPreserveOrderPerPartitionKey() {
+        var handled = new CopyOnWriteArrayList<String>();
+
+        try (var ordered = new MediatorBuilder()
+                .registerEventHandler(UserCreatedEvent.class, event -> {
+                    if (event.userName().endsWith("0")) {
+                        Thread.yield();
+                    }
+
+                    handled.add(event.userName());
+                })
+                .useOrderedDispatch(UserCreatedEvent.class, event -> event.userName().charAt(0))
+                .build()) {
+            List<CompletableFuture<Void>> published = new ArrayList<>();
+
+            for (int i = 0; i < 100; i++) {
+                published.add(ordered.publishAsync(new UserCreatedEvent("a" + i)));
+                published.add(ordered.publishAsync(new UserCreatedEvent("b" + i)));
+            }
+
+            published.forEach(CompletableFuture::join);
+        }
+
+        for (var key : List.of("a", "b")) {
+            var sequence = handled.stream().filter(name -> name.startsWith(key)).toList();
+            var expected = new ArrayList<String>();
+
+            for (int i = 0; i < 100; i++) {
+                expected.add(key + i);
+            }
+
+            assertThat(sequence).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void shouldHandleDifferentPartitionKeysInParallel() {
+        var secondHandled = new CountDownLatch(1);
+
+        try (var ordered = new MediatorBuilder()
+                .registerEventHandler(UserCreatedEvent.class, event -> {
+                    if (event.userName().equals("a")) {
+                        assertThatCode(() -> assertThat(secondHandled.await(1, TimeUnit.SECONDS)).isTrue())
+                                .doesNotThrowAnyException();
+                    } else {
+                        secondHandled.countDown();
+                    }
+                })
+                .useOrderedDispatch(UserCreatedEvent.class, UserCreatedEvent::userName)
+                .useOrderedDispatchLanes(2)
+                .build()) {
+            var first = ordered.publishAsync(new UserCreatedEvent("a"));
+            var second = ordered.publishAsync(new UserCreatedEvent("b"));
+
+            assertThatCode(() -> CompletableFuture.allOf(first, second).join()).doesNotThrowAnyException();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+import abstractions.Mediator;
+import abstractions.requests.AsyncRequestHandler;
+import abstractions.requests.RequestHandler;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+
+public class QueryCacheTest {
+    private final AtomicInteger executions = new AtomicInteger();
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void shouldServeCachedQueryResultsUntilInvalidated() {
+        try (var caching = new MediatorBuilder()
+                .registerHandler(SquareQuery.class, query -> {
+                    executions.incrementAndGet();
+                    return query.value() * query.value();
+                })
+                .registerHandler(MultiplyCommand.class, new MultiplyCommandHandler())
+                .useQueryCache(SquareQuery.class, Duration.ofMinutes(1))
+                .invalidateQueryCacheOnCommand(MultiplyCommand.class, SquareQuery.class)
+                .invalidateQueryCacheOnEvent(UserCreatedEvent.class, SquareQuery.class)
+                .build()) {
+            assertThat(caching.send(new SquareQuery(5))).isEqualTo(25);
+            assertThat(caching.sendAsync(new SquareQuery(5)).join()).isEqualTo(25);
+            assertThat(executions.get()).isEqualTo(1);
+
+            caching.send(new MultiplyCommand(1, 1));
+
+            assertThat(caching.send(new SquareQuery(5))).isEqualTo(25);
+            assertThat(executions.get()).isEqualTo(2);
+
+            caching.publish(new UserCreatedEvent("Alice"));
+
+            assertThat(caching.send(new SquareQuery(5))).isEqualTo(25);
+            assertThat(executions.get()).isEqualTo(3);
+            assertThat(caching.metrics().queryCacheHits()).isEqualTo(1);
+            assertThat(caching.metrics().queryCacheMisses()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void shouldInvalidateAfterEventHandlersHaveApplied() {
+        var stored = new AtomicInteger(1);
+        var mediator = new AtomicReference<Mediator>();
+
+        try (var caching = new MediatorBuilder()
+                .registerHandler(SquareQuery.class, query -> stored.get() * query.value())
+                .registerEventHandler(UserCreatedEvent.class, _ -> {
+                    mediator.get().send(new SquareQuery(3));
+                    stored.incrementAndGet();
+                })
+                .useQueryCache(SquareQuery.class, Duration.ofMinutes(1))
+                .invalidateQueryCacheOnEvent(UserCreatedEvent.class, SquareQuery.class)
+                .build()) {
+            mediator.set(caching);
+
+            caching.publish(new UserCreatedEvent("Alice"));
+
+            assertThat(caching.send(new SquareQuery(3))).isEqualTo(6);
+
+            caching.publishAsync(new UserCreatedEvent("Bob")).join();
+
+            assertThat(caching.send(new SquareQuery(3))).isEqualTo(9);
+        }
+    }
+
+    @Test
+    void shouldExpireCachedResultsAfterTimeToLive() {
+        var cache = newCache(Duration.ofSeconds(1), 32);
+        var handler = cached(cache);
+
+        handler.handle(new SquareQuery(2));
+        clock.addAndGet(Duration.ofMillis(999).toNanos());
+        handler.handle(new SquareQuery(2));
+
+        assertThat(executions.get()).isEqualTo(1);
+
+        clock.addAndGet(Duration.ofMillis(1).toNanos());
+        handler.handle(new SquareQuery(2));
+
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepTotalWeightWithinCapacity() {
+        for (long capacity : new long[] {1, 5, 17, 32}) {
+            var cache = newCache(Duration.ofMinutes(1), capacity);
+            var handler = cached(cache);
+
+            for (int i = 0; i < 1_000; i++) {
+                handler.handle(new SquareQuery(i));
+            }
+
+            assertThat(cache.weight()).isBetween(1L, capacity);
+            assertThat(cache.evictions()).isEqualTo(1_000 - cache.weight());
+        }
+    }
+
+    private QueryCache newCache(Duration timeToLive, long capacity) {
+        return new QueryCache(
+                Map.of(SquareQuery.class, timeToLive), Map.of(), Map.of(), capacity, (_, _) -> 1, clock::get);
+    }
+
+    @SuppressWarnings("unchecked")
+    private RequestHandler<SquareQuery, Integer> cached(QueryCache cache) {
+        RequestHandler<SquareQuery, Integer> handler = query -> {
+            executions.incrementAndGet();
+            return query.value() * query.value();
+        };
+        AsyncRequestHandler<SquareQuery, Integer> async =
+                query -> CompletableFuture.completedFuture(handler.handle(query));
+
+        RequestPipeline pipeline = cache.apply(SquareQuery.class, new RequestPipeline(handler, async));
+        return (RequestHandler<SquareQuery, Integer>)pipeline.sync();
+    }
+}
\ No newline at end of file
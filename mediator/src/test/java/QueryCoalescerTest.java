@@ -0,0 +1,64 @@
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+
+public class QueryCoalescerTest {
+    @Test
+    void shouldCoalesceIdenticalConcurrentQueries() {
+        var release = new CountDownLatch(1);
+        var executions = new AtomicInteger();
+
+        try (var coalescing = new MediatorBuilder()
+                .registerHandler(SquareQuery.class, query -> {
+                    executions.incrementAndGet();
+                    assertThatCode(release::await).doesNotThrowAnyException();
+                    return query.value() * query.value();
+                })
+                .useQueryCoalescing(SquareQuery.class)
+                .build()) {
+            List<CompletableFuture<Integer>> results = new ArrayList<>();
+
+            for (int i = 0; i < 10; i++) {
+                results.add(coalescing.sendAsync(new SquareQuery(7)));
+            }
+
+            release.countDown();
+
+            for (var result : results) {
+                assertThat(result.join()).isEqualTo(49);
+            }
+
+            assertThat(executions.get()).isEqualTo(1);
+            assertThat(coalescing.metrics().coalescedCalls(SquareQuery.class)).isEqualTo(9);
+            assertThat(coalescing.send(new SquareQuery(7))).isEqualTo(49);
+            assertThat(executions.get()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void shouldShareFailureOfCoalescedQuery() {
+        var release = new CompletableFuture<Integer>();
+
+        try (var coalescing = new MediatorBuilder()
+                .registerAsyncHandler(SquareQuery.class, _ -> release)
+                .useQueryCoalescing(SquareQuery.class)
+                .build()) {
+            var first = coalescing.sendAsync(new SquareQuery(3));
+            var second = coalescing.sendAsync(new SquareQuery(3));
+            var other = coalescing.sendAsync(new SquareQuery(4));
+
+            release.completeExceptionally(new IllegalStateException("Store unavailable"));
+
+            for (var result : List.of(first, second, other)) {
+                assertThatThrownBy(result::join).hasCauseInstanceOf(IllegalStateException.class);
+            }
+
+            assertThat(coalescing.metrics().coalescedCalls()).isEqualTo(1);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+
+public class QueryHedgerTest {
+    @Test
+    void shouldReturnHedgedAttemptWhenFirstAttemptIsSlow()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        var attempts = new AtomicInteger();
+        var slowInterrupted = new CountDownLatch(1);
+
+        try (var hedged = new MediatorBuilder()
+                .registerHandler(SquareQuery.class, query -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        try {
+                            Thread.sleep(Duration.ofMinutes(1));
+                        } catch (InterruptedException ex) {
+                            slowInterrupted.countDown();
+                        }
+                    }
+
+                    return query.value() * query.value();
+                })
+                .useHedging(SquareQuery.class, 0.95, Duration.ofMillis(20))
+                .build()) {
+            assertThat(hedged.sendAsync(new SquareQuery(4)).get(5, TimeUnit.SECONDS)).isEqualTo(16);
+            assertThat(attempts.get()).isEqualTo(2);
+            assertThat(slowInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldNotShareLatenciesBetweenMediatorsBuiltByOneBuilder()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        var slow = new AtomicBoolean(true);
+        var attempts = new AtomicInteger();
+        var builder = new MediatorBuilder()
+                .registerHandler(SquareQuery.class, query -> {
+                    if (slow.get() || attempts.incrementAndGet() == 1) {
+                        try {
+                            Thread.sleep(slow.get() ? Duration.ofSeconds(1) : Duration.ofMinutes(1));
+                        } catch (InterruptedException _) {}
+                    }
+
+                    return query.value() * query.value();
+                })
+                .useHedging(SquareQuery.class, 0.5, Duration.ofMillis(10));
+
+        try (var first = builder.build()) {
+            assertThat(first.sendAsync(new SquareQuery(2)).get(5, TimeUnit.SECONDS)).isEqualTo(4);
+        }
+
+        slow.set(false);
+
+        try (var second = builder.build()) {
+            assertThat(second.sendAsync(new SquareQuery(3)).get(500, TimeUnit.MILLISECONDS)).isEqualTo(9);
+        }
+    }
+}
\ No newline at end of file
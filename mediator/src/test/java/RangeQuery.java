@@ -0,0 +1,3 @@
+import abstractions.queries.StreamQuery;
+
+public record RangeQuery(int count) implements StreamQuery<Integer> {}
\ No newline at end of file
@@ -0,0 +1,73 @@
+import abstractions.queries.Query;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+
+public class RequestTimeoutsTest {
+    private MediatorImpl mediator;
+
+    @BeforeEach
+    void setUp() {
+        mediator = new MediatorImpl();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mediator.close();
+    }
+
+    @Test
+    void shouldInterruptHandlerWhenAsyncCallIsCancelled() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var interrupted = new CountDownLatch(1);
+        mediator.registerHandler(SquareQuery.class, query -> {
+            started.countDown();
+
+            try {
+                Thread.sleep(Duration.ofMinutes(1));
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+            }
+
+            return query.value();
+        });
+
+        var future = mediator.sendAsync(new SquareQuery(3));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        future.cancel(true);
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shouldFailAndInterruptHandlerWhenDeadlinePasses() throws InterruptedException {
+        var interrupted = new CountDownLatch(2);
+
+        try (var limited = new MediatorBuilder()
+                .registerHandler(SquareQuery.class, query -> {
+                    try {
+                        Thread.sleep(Duration.ofMinutes(1));
+                    } catch (InterruptedException ex) {
+                        interrupted.countDown();
+                    }
+
+                    return query.value();
+                })
+                .useTimeout(Query.class, Duration.ofMillis(50))
+                .build()) {
+            assertThatThrownBy(() -> limited.sendAsync(new SquareQuery(2)).join())
+                    .hasCauseInstanceOf(TimeoutException.class);
+            assertThatThrownBy(() -> limited.sendAsync(new SquareQuery(2), Duration.ofMillis(10)).join())
+                    .hasCauseInstanceOf(TimeoutException.class);
+
+            assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+}
\ No newline at end of file
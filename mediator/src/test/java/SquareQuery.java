@@ -0,0 +1,3 @@
+import abstractions.queries.Query;
+
+public record SquareQuery(int value) implements Query<Integer> {}
\ No newline at end of file
@@ -0,0 +1,116 @@
+import abstractions.behaviors.StreamPipelineBehavior;
+import abstractions.queries.StreamQuery;
+import abstractions.queries.StreamQueryHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+
+public class StreamPublisherTest {
+    private MediatorImpl mediator;
+
+    @BeforeEach
+    void setUp() {
+        mediator = new MediatorImpl();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mediator.close();
+    }
+
+    @Test
+    void shouldPullStreamedItemsOnlyAsTheyAreRequested() {
+        var pulled = new AtomicInteger();
+        var closed = new AtomicInteger();
+        mediator.registerLazyStreamHandler(RangeQuery.class, query -> IntStream.range(0, query.count())
+                .boxed()
+                .peek(_ -> pulled.incrementAndGet())
+                .onClose(closed::incrementAndGet));
+
+        var subscriber = new RecordingSubscriber<Integer>();
+        mediator.stream(new RangeQuery(1_000_000)).subscribe(subscriber);
+
+        assertThat(pulled.get()).isEqualTo(0);
+
+        subscriber.subscription.request(2);
+        assertThat(subscriber.items).isEqualTo(List.of(0, 1));
+
+        subscriber.subscription.request(3);
+        assertThat(subscriber.items).isEqualTo(List.of(0, 1, 2, 3, 4));
+        assertThat(pulled.get()).isEqualTo(5);
+
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(10);
+
+        assertThat(subscriber.items.size()).isEqualTo(5);
+        assertThat(closed.get()).isEqualTo(1);
+        assertThat(subscriber.completed).isFalse();
+    }
+
+    @Test
+    void shouldApplyStreamPipelineBehaviorsToEachItem() {
+        var observed = new AtomicInteger();
+        mediator.registerLazyStreamHandler(RangeQuery.class, query -> IntStream.range(0, query.count()).boxed());
+        mediator.registerStreamPipelineBehavior(new StreamPipelineBehavior<RangeQuery, Integer>() {
+            @Override
+            public Flow.Publisher<Integer> handle(RangeQuery query, StreamQueryHandler<RangeQuery, Integer> next) {
+                return subscriber -> next.handle(query).subscribe(new Flow.Subscriber<>() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        subscriber.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(Integer item) {
+                        observed.incrementAndGet();
+                        subscriber.onNext(item * 10);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        subscriber.onError(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        subscriber.onComplete();
+                    }
+                });
+            }
+        });
+
+        var subscriber = new RecordingSubscriber<Integer>();
+        mediator.stream(new RangeQuery(3)).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.items).isEqualTo(List.of(0, 10, 20));
+        assertThat(subscriber.completed).isTrue();
+        assertThat(observed.get()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldStreamFromPublisherHandler() {
+        mediator.registerStreamHandler(RangeQuery.class, query -> subscriber -> {
+            var publisher = new SubmissionPublisher<Integer>(Runnable::run, 1);
+            publisher.subscribe(subscriber);
+            publisher.submit(query.count());
+            publisher.close();
+        });
+
+        var subscriber = new RecordingSubscriber<Integer>();
+        mediator.stream(new RangeQuery(7)).subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.items).isEqualTo(List.of(7));
+        assertThat(subscriber.completed).isTrue();
+        assertThatThrownBy(() -> mediator.stream(new StreamQuery<String>() {}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
\ No newline at end of file
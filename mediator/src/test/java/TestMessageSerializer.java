@@ -0,0 +1,30 @@
+import abstractions.transport.MessageSerializer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class TestMessageSerializer implements MessageSerializer {
+    @Override
+    public byte[] serialize(Object message) {
+        return switch (message) {
+            case SquareQuery query -> ByteBuffer.allocate(5).put((byte)1).putInt(query.value()).array();
+            case Integer value -> ByteBuffer.allocate(5).put((byte)2).putInt(value).array();
+            case UserCreatedEvent event -> {
+                byte[] name = event.userName().getBytes(StandardCharsets.UTF_8);
+                yield ByteBuffer.allocate(1 + name.length).put((byte)3).put(name).array();
+            }
+            default -> throw new IllegalArgumentException("Unsupported message " + message);
+        };
+    }
+
+    @Override
+    public Object deserialize(byte[] payload) {
+        var buffer = ByteBuffer.wrap(payload);
+
+        return switch (buffer.get()) {
+            case 1 -> new SquareQuery(buffer.getInt());
+            case 2 -> buffer.getInt();
+            case 3 -> new UserCreatedEvent(new String(payload, 1, payload.length - 1, StandardCharsets.UTF_8));
+            default -> throw new IllegalArgumentException("Unsupported payload");
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,189 @@
+import abstractions.Mediator;
+import abstractions.transport.RemoteDispatchException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+
+public class TransportTest {
+    private final List<UserCreatedEvent> received = new CopyOnWriteArrayList<>();
+    private Mediator server;
+
+    @BeforeEach
+    void setUp() {
+        server = new MediatorBuilder()
+                .registerHandler(SquareQuery.class, query -> {
+                    if (query.value() < 0) {
+                        throw new IllegalArgumentException("Negative value");
+                    }
+
+                    return query.value() * query.value();
+                })
+                .registerEventHandler(UserCreatedEvent.class, received::add)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void shouldRouteRequestsAndEventsThroughLoopback() {
+        var transport = new LoopbackTransport(server, new TestMessageSerializer());
+
+        try (var client = new MediatorBuilder()
+                .useTransport(SquareQuery.class, transport)
+                .useTransport(UserCreatedEvent.class, transport)
+                .build()) {
+            assertThat(client.send(new SquareQuery(5))).isEqualTo(25);
+
+            client.publish(new UserCreatedEvent("Remote"));
+
+            assertThat(received.size()).isEqualTo(1);
+            assertThat(received.getFirst().userName()).isEqualTo("Remote");
+        }
+    }
+
+    @Test
+    void shouldPipelineRequestsOverPooledTcpConnections() {
+        var address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+
+        try (var listener = new TcpTransportServer(server, address, new TestMessageSerializer());
+             var transport = new TcpTransport(listener.address(), new TestMessageSerializer(), 2);
+             var client = new MediatorBuilder()
+                     .useTransport(SquareQuery.class, transport)
+                     .useTransport(UserCreatedEvent.class, transport)
+                     .build()) {
+            List<CompletableFuture<Integer>> responses = new ArrayList<>();
+
+            for (int i = 0; i < 500; i++) {
+                responses.add(client.sendAsync(new SquareQuery(i)));
+            }
+
+            for (int i = 0; i < responses.size(); i++) {
+                assertThat(responses.get(i).orTimeout(5, TimeUnit.SECONDS).join()).isEqualTo(i * i);
+            }
+
+            client.publishAsync(new UserCreatedEvent("Remote")).orTimeout(5, TimeUnit.SECONDS).join();
+
+            assertThat(received.size()).isEqualTo(1);
+            assertThatThrownBy(() -> client.send(new SquareQuery(-1)))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("Negative value");
+        }
+    }
+
+    @Test
+    void shouldReportTheTypeOfRemoteFailures() {
+        var address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+
+        try (var listener = new TcpTransportServer(server, address, new TestMessageSerializer());
+             var transport = new TcpTransport(listener.address(), new TestMessageSerializer(), 1)) {
+            assertThat(transport.send(new SquareQuery(-1)).handle((_, error) -> error).join())
+                    .isInstanceOf(RemoteDispatchException.class)
+                    .hasMessage("java.lang.IllegalArgumentException: Negative value")
+                    .satisfies(error -> assertThat(((RemoteDispatchException)error).remoteType())
+                            .isEqualTo(IllegalArgumentException.class.getName()));
+        }
+    }
+
+    @Test
+    void shouldNotHoldAWorkerWhileARemotePublishIsPending() throws Exception {
+        var release = new CountDownLatch(1);
+        var worker = Executors.newSingleThreadExecutor();
+
+        try (var remote = new MediatorBuilder()
+                .registerEventHandler(UserCreatedEvent.class, _ -> assertThatCode(release::await).doesNotThrowAnyException())
+                .build();
+             var client = new MediatorBuilder()
+                     .useExecutor(worker)
+                     .useTransport(UserCreatedEvent.class, new LoopbackTransport(remote))
+                     .registerHandler(SquareQuery.class, query -> query.value() * query.value())
+                     .build()) {
+            CompletableFuture<Void> published = client.publishAsync(new UserCreatedEvent("Remote"));
+
+            assertThat(client.sendAsync(new SquareQuery(3)).get(5, TimeUnit.SECONDS)).isEqualTo(9);
+            assertThat(published.isDone()).isFalse();
+
+            release.countDown();
+            published.get(5, TimeUnit.SECONDS);
+        } finally {
+            worker.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRefuseLoopTasksOnceTheLoopHasStopped() {
+        var ran = new AtomicBoolean();
+        var loop = new NioLoop("stopped-loop");
+
+        loop.close();
+
+        assertThat(loop.execute(() -> ran.set(true))).isFalse();
+        assertThat(ran.get()).isFalse();
+    }
+
+    @Test
+    void shouldDispatchInboundFramesOffTheSelectorThread() throws Exception {
+        var release = new CountDownLatch(1);
+        var address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+
+        try (var callerRuns = new MediatorBuilder()
+                .useExecutor(Runnable::run)
+                .registerHandler(SquareQuery.class, query -> {
+                    if (query.value() == 0) {
+                        assertThatCode(release::await).doesNotThrowAnyException();
+                    }
+
+                    return query.value() * query.value();
+                })
+                .build();
+             var listener = new TcpTransportServer(callerRuns, address, new TestMessageSerializer());
+             var transport = new TcpTransport(listener.address(), new TestMessageSerializer(), 1);
+             var client = new MediatorBuilder().useTransport(SquareQuery.class, transport).build()) {
+            CompletableFuture<Integer> blocked = client.sendAsync(new SquareQuery(0));
+
+            assertThat(client.sendAsync(new SquareQuery(4)).get(5, TimeUnit.SECONDS)).isEqualTo(16);
+
+            release.countDown();
+
+            assertThat(blocked.get(5, TimeUnit.SECONDS)).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void shouldKeepServingOtherConnectionsWhenOneFails() throws Exception {
+        var broken = new AtomicBoolean(true);
+        Executor executor = task -> {
+            if (broken.getAndSet(false)) {
+                throw new IllegalStateException("Executor broken");
+            }
+
+            Thread.ofVirtual().start(task);
+        };
+        var address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+
+        try (var listener = new TcpTransportServer(server, address, new TestMessageSerializer(), executor);
+             var failing = new TcpTransport(listener.address(), new TestMessageSerializer(), 1);
+             var healthy = new TcpTransport(listener.address(), new TestMessageSerializer(), 1)) {
+            assertThatThrownBy(() -> failing.send(new SquareQuery(2)).get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(UncheckedIOException.class);
+            assertThat(healthy.send(new SquareQuery(3)).get(5, TimeUnit.SECONDS)).isEqualTo(9);
+            assertThat(failing.send(new SquareQuery(4)).get(5, TimeUnit.SECONDS)).isEqualTo(16);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+import abstractions.events.Event;
+import abstractions.events.EventSerializer;
+import java.nio.charset.StandardCharsets;
+
+public class UserCreatedEventSerializer implements EventSerializer {
+    @Override
+    public byte[] serialize(Event event) {
+        return ((UserCreatedEvent)event).userName().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Event deserialize(byte[] payload) {
+        return new UserCreatedEvent(new String(payload, StandardCharsets.UTF_8));
+    }
+}
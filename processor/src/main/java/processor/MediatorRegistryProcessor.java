@@ -0,0 +1,295 @@
+package processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/*
+ * Collects the handlers and pipeline behaviors annotated with @MediatorHandler and writes a registry class that
+ * registers them on a MediatorBuilder with their request or event types spelled out. The target type is read from the
+ * supertype as seen from the implementation, so handlers that bind it through a generic base class resolve too.
+ *
+ * MediatorBuilder lives in the unnamed package, so the registry has to live there as well. Modules that each generate
+ * one give it a distinct name with -Amediator.registry=<name>. Nothing is written when no handler is annotated.
+ */
+@SupportedAnnotationTypes(MediatorRegistryProcessor.MEDIATOR_HANDLER)
+@SupportedOptions(MediatorRegistryProcessor.REGISTRY_OPTION)
+public final class MediatorRegistryProcessor extends AbstractProcessor {
+    static final String MEDIATOR_HANDLER = "abstractions.MediatorHandler";
+    static final String REGISTRY_OPTION = "mediator.registry";
+    static final String REGISTRY = "MediatorRegistry";
+
+    private static final String PIPELINE_ORDER = "abstractions.behaviors.PipelineOrder";
+
+    private static final String REQUEST = "abstractions.requests.Request";
+    private static final String EVENT = "abstractions.events.Event";
+    private static final String RESULT_COMMAND = "abstractions.commands.ResultCommand";
+    private static final String STREAM_QUERY = "abstractions.queries.StreamQuery";
+
+    private static final List<Kind> KINDS = List.of(
+            new Kind("abstractions.requests.RequestHandler", "registerHandler", REQUEST, false),
+            new Kind("abstractions.requests.AsyncRequestHandler", "registerAsyncHandler", REQUEST, false),
+            new Kind("abstractions.commands.BatchRequestHandler", "registerBatchHandler", RESULT_COMMAND, false),
+            new Kind("abstractions.events.EventHandler", "registerEventHandler", EVENT, false),
+            new Kind("abstractions.queries.StreamQueryHandler", "registerStreamHandler", STREAM_QUERY, false),
+            new Kind("abstractions.queries.LazyStreamQueryHandler", "registerLazyStreamHandler", STREAM_QUERY, false),
+            new Kind("abstractions.behaviors.RequestPipelineBehavior", "registerRequestPipelineBehavior", REQUEST, true),
+            new Kind(
+                    "abstractions.behaviors.AsyncRequestPipelineBehavior",
+                    "registerAsyncRequestPipelineBehavior",
+                    REQUEST,
+                    true),
+            new Kind("abstractions.behaviors.EventPipelineBehavior", "registerEventPipelineBehavior", EVENT, true),
+            new Kind(
+                    "abstractions.behaviors.StreamPipelineBehavior",
+                    "registerStreamPipelineBehavior",
+                    STREAM_QUERY,
+                    true));
+
+    private final List<Registration> registrations = new ArrayList<>();
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            return false;
+        }
+
+        for (var annotation : annotations) {
+            for (var type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                collect(type);
+            }
+        }
+
+        if (this.registrations.isEmpty()) {
+            return false;
+        }
+
+        String registry = registryName();
+
+        if (this.generated) {
+            this.processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.WARNING, "Handlers generated after " + registry + " was written are not registered");
+        } else if (registry != null) {
+            write(registry);
+            this.generated = true;
+        }
+
+        this.registrations.clear();
+        return false;
+    }
+
+    private void collect(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS && type.getKind() != ElementKind.RECORD
+                || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            warn(type, "Only concrete classes can be registered");
+            return;
+        }
+
+        boolean found = false;
+
+        for (var kind : KINDS) {
+            DeclaredType implemented = findSupertype((DeclaredType)type.asType(), kind.interfaceName);
+
+            if (implemented != null) {
+                register(type, kind, implemented);
+                found = true;
+            }
+        }
+
+        if (!found) {
+            warn(type, "Class is neither a handler nor a pipeline behavior");
+        }
+    }
+
+    private String registryName() {
+        String name = this.processingEnv.getOptions().getOrDefault(REGISTRY_OPTION, REGISTRY);
+
+        if (!SourceVersion.isIdentifier(name) || SourceVersion.isKeyword(name)) {
+            this.processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR, "Invalid registry class name " + name);
+            return null;
+        }
+
+        return name;
+    }
+
+    private void register(TypeElement type, Kind kind, DeclaredType implemented) {
+        TypeMirror target = implemented.getTypeArguments().isEmpty() ? null : implemented.getTypeArguments().getFirst();
+        String targetName = target != null && target.getKind() == TypeKind.DECLARED
+                ? ((TypeElement)((DeclaredType)target).asElement()).getQualifiedName().toString()
+                : null;
+
+        if (targetName == null || targetName.equals(kind.openType)) {
+            if (!kind.behavior) {
+                warn(type, "Handler without a concrete request or event type is not registered");
+                return;
+            }
+
+            targetName = kind.openType;
+        }
+
+        if (!isInstantiable(type)) {
+            warn(type, "Handler needs an accessible no-argument constructor to be registered");
+            return;
+        }
+
+        if (!kind.behavior && !type.getTypeParameters().isEmpty()) {
+            warn(type, "Generic handler is not registered");
+            return;
+        }
+
+        this.registrations.add(new Registration(
+                kind,
+                type.getQualifiedName().toString(),
+                !type.getTypeParameters().isEmpty(),
+                targetName,
+                order(type)));
+    }
+
+    private DeclaredType findSupertype(DeclaredType type, String interfaceName) {
+        Queue<TypeMirror> pending = new ArrayDeque<>(List.of(type));
+        Set<String> visited = new HashSet<>();
+
+        while (!pending.isEmpty()) {
+            TypeMirror current = pending.poll();
+
+            if (!(current instanceof DeclaredType declared)) {
+                continue;
+            }
+
+            var element = (TypeElement)declared.asElement();
+            String name = element.getQualifiedName().toString();
+
+            if (name.equals(interfaceName)) {
+                return declared;
+            }
+
+            if (visited.add(declared.toString())) {
+                pending.addAll(this.processingEnv.getTypeUtils().directSupertypes(declared));
+            }
+        }
+
+        return null;
+    }
+
+    private boolean isInstantiable(TypeElement type) {
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER) {
+            return false;
+        }
+
+        boolean defaultPackage = packageOf(type).isUnnamed();
+
+        for (Element enclosing = type; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            boolean inner = ((TypeElement)enclosing).getNestingKind() == NestingKind.MEMBER
+                    && !enclosing.getModifiers().contains(Modifier.STATIC);
+
+            if (inner || !isAccessible(enclosing.getModifiers(), defaultPackage)) {
+                return false;
+            }
+        }
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty()) {
+                return isAccessible(constructor.getModifiers(), defaultPackage);
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isAccessible(Set<Modifier> modifiers, boolean defaultPackage) {
+        return modifiers.contains(Modifier.PUBLIC) || defaultPackage && !modifiers.contains(Modifier.PRIVATE);
+    }
+
+    private static PackageElement packageOf(Element element) {
+        while (!(element instanceof PackageElement)) {
+            element = element.getEnclosingElement();
+        }
+
+        return (PackageElement)element;
+    }
+
+    private static int order(TypeElement type) {
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            var annotationType = (TypeElement)annotation.getAnnotationType().asElement();
+
+            if (annotationType.getQualifiedName().contentEquals(PIPELINE_ORDER)) {
+                for (AnnotationValue value : annotation.getElementValues().values()) {
+                    return (Integer)value.getValue();
+                }
+            }
+        }
+
+        return 0;
+    }
+
+    private void write(String registry) {
+        List<Registration> sorted = new ArrayList<>(this.registrations);
+        sorted.sort(Comparator
+                .comparing((Registration r) -> r.kind.behavior)
+                .thenComparingInt(r -> r.order)
+                .thenComparing(r -> r.type)
+                .thenComparing(r -> r.kind.method));
+
+        try (Writer writer = this.processingEnv.getFiler().createSourceFile(registry).openWriter()) {
+            writer.write("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")\n");
+            writer.write("public final class " + registry + " {\n");
+            writer.write("    private " + registry + "() {}\n\n");
+            writer.write("    public static MediatorBuilder builder() {\n");
+            writer.write("        return register(new MediatorBuilder());\n");
+            writer.write("    }\n\n");
+            writer.write("    public static MediatorBuilder register(MediatorBuilder builder) {\n");
+            writer.write("        return builder");
+
+            for (var registration : sorted) {
+                writer.write("\n                ." + registration.kind.method + "("
+                        + registration.target + ".class, new " + registration.type
+                        + (registration.generic ? "<>()" : "()") + ")");
+            }
+
+            writer.write(";\n    }\n}\n");
+        } catch (IOException ex) {
+            this.processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR, "Unable to write " + registry + ": " + ex.getMessage());
+        }
+    }
+
+    private void warn(Element element, String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+
+    private record Kind(String interfaceName, String method, String openType, boolean behavior) {}
+
+    private record Registration(Kind kind, String type, boolean generic, String target, int order) {}
+}
@@ -0,0 +1,167 @@
+package processor;
+
+import abstractions.Mediator;
+import java.io.File;
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.AssertionsForClassTypes.*;
+
+public class MediatorRegistryProcessorTest {
+    private static final Map<String, String> SOURCES = Map.of(
+            "Count.java", """
+                    import abstractions.queries.Query;
+
+                    public record Count(int value) implements Query<Integer> {}
+                    """,
+            "CountingHandler.java", """
+                    import abstractions.MediatorHandler;
+                    import abstractions.queries.Query;
+                    import abstractions.queries.QueryHandler;
+
+                    abstract class IdentityHandler<TQuery extends Query<Integer>> implements QueryHandler<TQuery, Integer> {}
+
+                    @MediatorHandler
+                    public class CountingHandler extends IdentityHandler<Count> {
+                        @Override
+                        public Integer handle(Count query) {
+                            return query.value();
+                        }
+                    }
+                    """,
+            "Behaviors.java", """
+                    import abstractions.MediatorHandler;
+                    import abstractions.behaviors.PipelineOrder;
+                    import abstractions.behaviors.RequestPipelineBehavior;
+                    import abstractions.requests.Request;
+                    import abstractions.requests.RequestHandler;
+
+                    @MediatorHandler
+                    @PipelineOrder(2)
+                    class AddOne implements RequestPipelineBehavior<Count, Integer> {
+                        @Override
+                        public Integer handle(Count request, RequestHandler<Count, Integer> next) {
+                            return next.handle(request) + 1;
+                        }
+                    }
+
+                    @MediatorHandler
+                    @PipelineOrder(1)
+                    class Triple<TRequest extends Request<TResponse>, TResponse> implements RequestPipelineBehavior<TRequest, TResponse> {
+                        @Override
+                        @SuppressWarnings("unchecked")
+                        public TResponse handle(TRequest request, RequestHandler<TRequest, TResponse> next) {
+                            return (TResponse)(Integer)((Integer)next.handle(request) * 3);
+                        }
+                    }
+                    """,
+            "Ignored.java", """
+                    import abstractions.MediatorHandler;
+                    import abstractions.events.Event;
+                    import abstractions.events.EventHandler;
+
+                    @MediatorHandler
+                    class Ignored implements EventHandler<Event> {
+                        private Ignored(String name) {}
+
+                        @Override
+                        public void handle(Event event) {}
+                    }
+                    """,
+            "Unlisted.java", """
+                    import abstractions.queries.QueryHandler;
+
+                    class Unlisted implements QueryHandler<Count, Integer> {
+                        @Override
+                        public Integer handle(Count query) {
+                            return 0;
+                        }
+                    }
+                    """);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldGenerateRegistryWithResolvedTypesAndBehaviorOrder() throws Exception {
+        Path output = compile(SOURCES);
+        String registry = Files.readString(output.resolve(MediatorRegistryProcessor.REGISTRY + ".java"));
+
+        assertThat(registry).contains(".registerHandler(Count.class, new CountingHandler())");
+        assertThat(registry).contains(".registerRequestPipelineBehavior(abstractions.requests.Request.class, new Triple<>())");
+        assertThat(registry.indexOf("new Triple<>()")).isLessThan(registry.indexOf("new AddOne()"));
+        assertThat(registry).doesNotContain("Ignored");
+        assertThat(registry).doesNotContain("Unlisted");
+
+        try (var loader = new URLClassLoader(new java.net.URL[] {output.toUri().toURL()}, getClass().getClassLoader())) {
+            Object builder = loader.loadClass(MediatorRegistryProcessor.REGISTRY).getMethod("builder").invoke(null);
+            var mediator = (Mediator)builder.getClass().getMethod("build").invoke(builder);
+            Object query = loader.loadClass("Count").getConstructor(int.class).newInstance(2);
+
+            try (mediator) {
+                int result = mediator.send((abstractions.requests.Request<Integer>)query);
+                assertThat(result).isEqualTo(9);
+            }
+        }
+    }
+
+    @Test
+    void shouldNotWriteRegistryWithoutAnnotatedHandlers() throws Exception {
+        Path output = compile(Map.of("Count.java", SOURCES.get("Count.java"), "Unlisted.java", SOURCES.get("Unlisted.java")));
+
+        assertThat(Files.exists(output.resolve(MediatorRegistryProcessor.REGISTRY + ".java"))).isFalse();
+    }
+
+    @Test
+    void shouldNameRegistryFromProcessorOption() throws Exception {
+        Path output = compile(SOURCES, "-A" + MediatorRegistryProcessor.REGISTRY_OPTION + "=OrdersRegistry");
+
+        assertThat(Files.readString(output.resolve("OrdersRegistry.java")))
+                .contains("public final class OrdersRegistry");
+        assertThat(Files.exists(output.resolve(MediatorRegistryProcessor.REGISTRY + ".java"))).isFalse();
+    }
+
+    private Path compile(Map<String, String> sourceFiles, String... options) throws IOException {
+        Path sources = Files.createDirectories(this.directory.resolve("src"));
+        Path output = Files.createDirectories(this.directory.resolve("out"));
+        List<File> files = new ArrayList<>();
+
+        for (var source : sourceFiles.entrySet()) {
+            Path file = sources.resolve(source.getKey());
+            Files.writeString(file, source.getValue());
+            files.add(file.toFile());
+        }
+
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var diagnostics = new DiagnosticCollector<JavaFileObject>();
+
+        try (var fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            List<String> arguments = new ArrayList<>(List.of("-d", output.toString(), "-s", output.toString(),
+                    "-classpath", System.getProperty("java.class.path")));
+            arguments.addAll(List.of(options));
+
+            var task = compiler.getTask(
+                    null,
+                    fileManager,
+                    diagnostics,
+                    arguments,
+                    null,
+                    fileManager.getJavaFileObjectsFromFiles(files));
+            task.setProcessors(List.of(new MediatorRegistryProcessor()));
+
+            assertThat(task.call()).as(diagnostics.getDiagnostics().toString()).isTrue();
+        }
+
+        return output;
+    }
+}